@@ -0,0 +1,84 @@
+package com.wizlit.path.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.entity.Point;
+import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.PointDto;
+import com.wizlit.path.model.domain.ProjectDto;
+
+/**
+ * Entity to DTO mapping on the read path, per project size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int points;
+
+	private Point point;
+	private List<Long> memoIds;
+	private List<Edge> edges;
+	private long[] pointIds;
+
+	@Setup
+	public void setUp() {
+		Instant now = Instant.now();
+		point = Point.builder()
+				.pointId(42L)
+				.pointTitle("point 42")
+				.pointCreatedUser(1L)
+				.pointSummary("summary of point 42")
+				.pointSummaryTimestamp(now)
+				.pointCreatedTimestamp(now)
+				.pointUpdatedTimestamp(now)
+				.build();
+		memoIds = List.of(126L, 127L, 128L);
+
+		edges = new ArrayList<>();
+		for (long id = 1; id < points; id++) {
+			edges.add(new Edge(id, id + 1));
+			edges.add(new Edge(id, id + 7));
+		}
+		pointIds = LongStream.rangeClosed(1, points).toArray();
+	}
+
+	@Benchmark
+	public PointDto pointDtoFrom() {
+		return PointDto.from(point, memoIds);
+	}
+
+	@Benchmark
+	public List<EdgeDto> edgeDtosFromEdges() {
+		List<EdgeDto> dtos = new ArrayList<>(edges.size());
+		for (Edge edge : edges) {
+			dtos.add(EdgeDto.fromEdge(edge));
+		}
+		return dtos;
+	}
+
+	@Benchmark
+	public ProjectDto projectDtoAppend() {
+		List<EdgeDto> dtos = new ArrayList<>(edges.size());
+		for (Edge edge : edges) {
+			dtos.add(EdgeDto.fromEdge(edge));
+		}
+		return ProjectDto.builder().projectId(1L).pointIds(pointIds).build().append(pointIds, dtos);
+	}
+}
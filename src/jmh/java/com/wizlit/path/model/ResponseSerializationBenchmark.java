@@ -0,0 +1,78 @@
+package com.wizlit.path.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.PointDto;
+import com.wizlit.path.model.domain.ProjectDto;
+import com.wizlit.path.model.response.FinalResponse;
+
+/**
+ * JSON serialization of a getProject response (ResponseWithChange of FinalResponse), per project size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int points;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private ResponseWithChange<FinalResponse> response;
+
+	@Setup
+	public void setUp() {
+		long[] pointIds = LongStream.rangeClosed(1, points).toArray();
+		long now = System.currentTimeMillis();
+
+		List<EdgeDto> edges = new ArrayList<>();
+		for (long id = 1; id < points; id++) {
+			edges.add(new EdgeDto(String.valueOf(id), String.valueOf(id + 1)));
+			edges.add(new EdgeDto(String.valueOf(id), String.valueOf(id + 7)));
+		}
+
+		List<PointDto> pointDtos = new ArrayList<>(points);
+		for (long id : pointIds) {
+			pointDtos.add(PointDto.builder()
+					.pointId(id)
+					.pointTitle("point " + id)
+					.pointCreatedUser(1L)
+					.pointCreatedTimestamp(now)
+					.pointUpdatedTimestamp(now)
+					.memoIdsInOrder(new long[] { id * 3, id * 3 + 1, id * 3 + 2 })
+					.build());
+		}
+
+		ProjectDto project = ProjectDto.builder()
+				.projectId(1L)
+				.projectCreatedUser(1L)
+				.projectCreatedTimestamp(now)
+				.projectUpdatedTimestamp(now)
+				.pointIds(pointIds)
+				.allPointIds(pointIds)
+				.edges(edges)
+				.build();
+
+		response = new ResponseWithChange<>(new FinalResponse().forGetProject(1L, project, pointDtos));
+	}
+
+	@Benchmark
+	public byte[] finalResponseToJson() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(response);
+	}
+}
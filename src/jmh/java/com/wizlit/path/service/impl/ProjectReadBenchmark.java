@@ -0,0 +1,67 @@
+package com.wizlit.path.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import reactor.util.context.Context;
+
+import com.wizlit.path.ExampleApplication;
+import com.wizlit.path.logging.RequestContextFilter;
+import com.wizlit.path.model.EdgeFormat;
+import com.wizlit.path.service.PointService;
+import com.wizlit.path.service.ProjectService;
+
+/**
+ * The getProject read path (project + edges + points) of one stored project, per edge format, against the
+ * configured database; needs PostgreSQL with data like the load test.
+ * Run with -Djmh.args="ProjectReadBenchmark -prof gc -p projectId=..." for the bytes allocated per read
+ * (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectReadBenchmark {
+
+	@Param({ "1" })
+	private long projectId;
+
+	@Param
+	private EdgeFormat edgeFormat;
+
+	private ConfigurableApplicationContext context;
+	private ProjectService projectService;
+	private PointService pointService;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(ExampleApplication.class).run("--server.port=0");
+		projectService = context.getBean(ProjectService.class);
+		pointService = context.getBean(PointService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long readProject() {
+		return projectService.getProjectById(projectId, edgeFormat)
+				.flatMap(project -> pointService.listPointsByIds(project.getAllPointIds(), null).count())
+				// services expect the request context written by RequestContextFilter
+				.contextWrite(Context.of(RequestContextFilter.REQUEST_ID, "benchmark"))
+				.block(Duration.ofMinutes(1));
+	}
+}
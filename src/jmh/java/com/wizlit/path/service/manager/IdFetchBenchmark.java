@@ -0,0 +1,61 @@
+package com.wizlit.path.service.manager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.wizlit.path.ExampleApplication;
+
+/**
+ * The array-bound, chunked ID fetches against the configured database; needs PostgreSQL with data like the load test.
+ * Compare chunking settings with -Djmh.args="IdFetchBenchmark -jvmArgsAppend -Dapp.fetch.chunk-size=..."
+ * (or -Dapp.fetch.parallelism=...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdFetchBenchmark {
+
+	@Param({ "100", "10000", "100000" })
+	private int size;
+
+	private ConfigurableApplicationContext context;
+	private PointManager pointManager;
+	private EdgeManager edgeManager;
+	private long[] ids;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(ExampleApplication.class).run("--server.port=0");
+		pointManager = context.getBean(PointManager.class);
+		edgeManager = context.getBean(EdgeManager.class);
+		ids = LongStream.rangeClosed(1, size).toArray();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long getFullPoints() {
+		return pointManager.getFullPoints(ids, null).count().block(Duration.ofMinutes(1));
+	}
+
+	@Benchmark
+	public long findEdgesByPointIds() {
+		return edgeManager.findEdgesByPointIds(ids).count().block(Duration.ofMinutes(1));
+	}
+}
@@ -0,0 +1,45 @@
+package com.wizlit.path.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JWT payload decode and claim extraction done by PrivateAccessFilter on every private request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtDecodeBenchmark {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final String token = jwt("{\"email\":\"user42@test.com\",\"name\":\"User 42\","
+			+ "\"picture\":\"https://picsum.photos/200\",\"exp\":4102444800,\"iat\":1700000000}");
+
+	@Benchmark
+	public String decodeAndReadClaims() throws IOException {
+		JsonNode payload = PrivateAccessFilter.decodeJwtPayload(mapper, token);
+		payload.get("exp").asLong();
+		payload.path("name").asText(null);
+		payload.path("picture").asText(null);
+		return payload.get("email").asText();
+	}
+
+	private static String jwt(String payload) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+				+ "." + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+				+ "." + encoder.encodeToString(new byte[256]);
+	}
+}
@@ -0,0 +1,98 @@
+package com.wizlit.path.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wizlit.path.model.ResponseWithChange;
+import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.PointDto;
+import com.wizlit.path.model.domain.ProjectDto;
+import com.wizlit.path.model.response.FinalResponse;
+
+/**
+ * Encoding of a getProject response per negotiated format and project size, alone and followed by the gzip
+ * the server applies above server.compression.min-response-size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+	@Param({ "application/json", "application/cbor", "application/x-jackson-smile" })
+	private String format;
+
+	@Param({ "100", "1000", "10000" })
+	private int points;
+
+	private final PayloadCodec payloadCodec = new PayloadCodec(new ObjectMapper());
+	private MediaType mediaType;
+	private ResponseWithChange<FinalResponse> response;
+
+	@Setup
+	public void setUp() {
+		mediaType = MediaType.parseMediaType(format);
+		long[] pointIds = LongStream.rangeClosed(1, points).toArray();
+		long now = System.currentTimeMillis();
+
+		List<EdgeDto> edges = new ArrayList<>();
+		for (long id = 1; id < points; id++) {
+			edges.add(new EdgeDto(String.valueOf(id), String.valueOf(id + 1)));
+			if (id + 7 <= points) {
+				edges.add(new EdgeDto(String.valueOf(id), String.valueOf(id + 7)));
+			}
+		}
+
+		List<PointDto> pointDtos = LongStream.of(pointIds)
+				.mapToObj(id -> PointDto.builder()
+						.pointId(id)
+						.pointTitle("point " + id)
+						.pointCreatedUser(1L)
+						.pointCreatedTimestamp(now)
+						.pointUpdatedTimestamp(now)
+						.memoIdsInOrder(new long[] { id * 3, id * 3 + 1, id * 3 + 2 })
+						.build())
+				.toList();
+
+		ProjectDto project = ProjectDto.builder()
+				.projectId(1L)
+				.projectCreatedUser(1L)
+				.projectCreatedTimestamp(now)
+				.projectUpdatedTimestamp(now)
+				.pointIds(pointIds)
+				.allPointIds(pointIds)
+				.edges(edges)
+				.build();
+
+		response = new ResponseWithChange<>(new FinalResponse().forGetProject(1L, project, pointDtos));
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		return payloadCodec.encode(mediaType, response);
+	}
+
+	@Benchmark
+	public byte[] encodeAndGzip() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(payloadCodec.encode(mediaType, response));
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,82 @@
+package com.wizlit.path.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.wizlit.path.model.GraphPath;
+import com.wizlit.path.model.PathMetric;
+import com.wizlit.path.model.WeightedEdges;
+
+/**
+ * Path queries over a project graph of 100k edges: building the adjacency from the fetched edges,
+ * and Dijkstra from the first to the last point, which has to settle most of the graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShortestPathBenchmark {
+
+	private static final int ORIGINS = 20_000;
+	private static final int EDGES_PER_ORIGIN = 5;
+	private static final int WINDOW = 50;
+
+	@Param({ "SHORTEST", "CHEAPEST" })
+	private PathMetric metric;
+
+	private WeightedEdges edges;
+	private WeightedGraph graph;
+
+	@Setup
+	public void setUp() {
+		// DAG like DatasetGenerator: every origin links to 5 distinct points among the next 50, 100k edges in total
+		Random random = new Random(42);
+		int edgeCount = ORIGINS * EDGES_PER_ORIGIN;
+		long[] origins = new long[edgeCount];
+		long[] destinations = new long[edgeCount];
+		long[] weights = new long[edgeCount];
+		int n = 0;
+		for (long origin = 1; origin <= ORIGINS; origin++) {
+			boolean[] linked = new boolean[WINDOW + 1];
+			for (int k = 0; k < EDGES_PER_ORIGIN; ) {
+				int offset = 1 + random.nextInt(WINDOW);
+				if (!linked[offset]) {
+					linked[offset] = true;
+					k++;
+				}
+			}
+			for (int offset = 1; offset <= WINDOW; offset++) {
+				if (linked[offset]) {
+					origins[n] = origin;
+					destinations[n] = origin + offset;
+					weights[n++] = random.nextInt(10);
+				}
+			}
+		}
+		edges = WeightedEdges.of(origins, destinations, weights);
+		graph = WeightedGraph.of(edges);
+	}
+
+	@Benchmark
+	public WeightedGraph buildAdjacency() {
+		return WeightedGraph.of(edges);
+	}
+
+	@Benchmark
+	public GraphPath firstToLast() {
+		return graph.shortestPath(1, ORIGINS, metric);
+	}
+
+	@Benchmark
+	public GraphPath buildAndQuery() {
+		return WeightedGraph.of(edges).shortestPath(1, ORIGINS, metric);
+	}
+}
@@ -0,0 +1,47 @@
+package com.wizlit.path.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+/**
+ * Cost of the error mapping every manager repository call goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidatorBenchmark {
+
+	private final Throwable foreignKeyViolation = new RuntimeException(
+			"insert or update on table \"edge\" violates foreign key constraint \"edge_origin_point_fkey\"");
+	private final Throwable unrelated = new RuntimeException("connection reset by peer");
+
+	@Benchmark
+	public Throwable matchingChain() {
+		return Validator.from(foreignKeyViolation)
+				.containsAllElseError(new ApiException(ErrorCode.NON_EXISTENT_POINTS, "[1, 2]"), "foreign", "key", "edge")
+				.containsAllElseError(new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, 1L, 2L), "unique", "unique_edge")
+				.toException();
+	}
+
+	@Benchmark
+	public Throwable fallThroughChain() {
+		return Validator.from(unrelated)
+				.containsAllElseError(new ApiException(ErrorCode.NON_EXISTENT_POINTS, "[1, 2]"), "foreign", "key", "edge")
+				.containsAllElseError(new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, 1L, 2L), "unique", "unique_edge")
+				.toException();
+	}
+
+	@Benchmark
+	public ApiException apiExceptionConstruction() {
+		return new ApiException(ErrorCode.POINT_NOT_FOUND, 42L);
+	}
+}
@@ -0,0 +1,183 @@
+package com.wizlit.path.loadtest;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes synthetic projects straight into the schema over JDBC, bypassing the API.
+ *
+ * Each project gets {@code points} points and {@code edges} edges forming a DAG: an edge always runs from
+ * a lower to a higher point index, so no cycle can appear. Destinations are drawn close to the origin
+ * (within {@code window} positions) like the chains users actually build, with a spine i -> i+1 first so
+ * every point is reachable. The seed makes the graph shape reproducible; titles carry a run id so several
+ * runs can share a database without tripping the unique title constraint.
+ */
+final class DatasetGenerator {
+
+	// developer mode authenticates every private request as this user
+	static final String DEVELOPER_EMAIL = "admin@wizlit.com";
+
+	private final String jdbcUrl;
+	private final String username;
+	private final String password;
+
+	DatasetGenerator(String jdbcUrl, String username, String password) {
+		this.jdbcUrl = jdbcUrl;
+		this.username = username;
+		this.password = password;
+	}
+
+	List<Long> generate(int projects, int points, int edges, int window, long seed) throws SQLException {
+		if (edges < points - 1) {
+			throw new IllegalArgumentException("edges must be at least points - 1 to keep the graph connected");
+		}
+		Random random = new Random(seed);
+		String runId = Long.toString(System.currentTimeMillis(), 36);
+
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+			connection.setAutoCommit(false);
+			long userId = _developerUser(connection);
+
+			List<Long> projectIds = new ArrayList<>();
+			for (int p = 0; p < projects; p++) {
+				long projectId = _insertProject(connection, userId);
+				long[] pointIds = _insertPoints(connection, userId, runId + "-" + p, points);
+				_insertProjectPoints(connection, projectId, pointIds);
+				_insertEdges(connection, pointIds, _dag(points, edges, window, random));
+				connection.commit();
+				projectIds.add(projectId);
+			}
+
+			try (PreparedStatement analyze = connection.prepareStatement("ANALYZE path_user, project, point, project_point, edge")) {
+				analyze.execute();
+			}
+			connection.commit();
+			return projectIds;
+		}
+	}
+
+	private long _developerUser(Connection connection) throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement("SELECT user_id FROM path_user WHERE user_email = ?")) {
+			select.setString(1, DEVELOPER_EMAIL);
+			try (ResultSet rows = select.executeQuery()) {
+				if (rows.next()) {
+					return rows.getLong(1);
+				}
+			}
+		}
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO path_user (user_email, user_name, user_avatar, user_created_timestamp, user_updated_timestamp) " +
+						"VALUES (?, 'Developer', 'https://picsum.photos/200', now(), now()) RETURNING user_id")) {
+			insert.setString(1, DEVELOPER_EMAIL);
+			try (ResultSet rows = insert.executeQuery()) {
+				rows.next();
+				return rows.getLong(1);
+			}
+		}
+	}
+
+	private long _insertProject(Connection connection, long userId) throws SQLException {
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO project (project_created_user, project_created_timestamp, project_updated_timestamp) " +
+						"VALUES (?, now(), now()) RETURNING project_id")) {
+			insert.setLong(1, userId);
+			try (ResultSet rows = insert.executeQuery()) {
+				rows.next();
+				return rows.getLong(1);
+			}
+		}
+	}
+
+	private long[] _insertPoints(Connection connection, long userId, String titlePrefix, int points) throws SQLException {
+		long[] pointIds = new long[points];
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO point (point_title, point_created_user, point_created_timestamp, point_updated_timestamp) " +
+						"SELECT 'lt-' || ? || '-' || g, ?, now(), now() FROM generate_series(1, ?) g ORDER BY g " +
+						"RETURNING point_id")) {
+			insert.setString(1, titlePrefix);
+			insert.setLong(2, userId);
+			insert.setInt(3, points);
+			try (ResultSet rows = insert.executeQuery()) {
+				int i = 0;
+				while (rows.next()) {
+					pointIds[i++] = rows.getLong(1);
+				}
+			}
+		}
+		// ids come from a sequence, so sorting restores the generate_series order
+		Arrays.sort(pointIds);
+		return pointIds;
+	}
+
+	private void _insertProjectPoints(Connection connection, long projectId, long[] pointIds) throws SQLException {
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO project_point (project_id, point_id) SELECT ?, UNNEST(?::bigint[])")) {
+			insert.setLong(1, projectId);
+			insert.setArray(2, _bigintArray(connection, pointIds));
+			insert.executeUpdate();
+		}
+	}
+
+	private void _insertEdges(Connection connection, long[] pointIds, int[][] dag) throws SQLException {
+		long[] origins = new long[dag.length];
+		long[] destinations = new long[dag.length];
+		for (int i = 0; i < dag.length; i++) {
+			origins[i] = pointIds[dag[i][0]];
+			destinations[i] = pointIds[dag[i][1]];
+		}
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO edge (origin_point, destination_point) " +
+						"SELECT * FROM UNNEST(?::bigint[], ?::bigint[]) ON CONFLICT DO NOTHING")) {
+			insert.setArray(1, _bigintArray(connection, origins));
+			insert.setArray(2, _bigintArray(connection, destinations));
+			insert.executeUpdate();
+		}
+	}
+
+	/**
+	 * Edges as (origin index, destination index) pairs with origin < destination.
+	 */
+	private static int[][] _dag(int points, int edges, int window, Random random) {
+		long possible = 0;
+		for (int origin = 0; origin < points; origin++) {
+			possible += Math.min(window, points - 1 - origin);
+		}
+		if (edges > possible) {
+			throw new IllegalArgumentException("cannot place " + edges + " edges within a window of " + window);
+		}
+
+		Set<Long> taken = new HashSet<>();
+		int[][] dag = new int[edges][];
+		int n = 0;
+		for (int origin = 0; origin + 1 < points; origin++) {
+			dag[n++] = new int[] { origin, origin + 1 };
+			taken.add((long) origin * points + origin + 1);
+		}
+		while (n < edges) {
+			int origin = random.nextInt(points - 1);
+			int destination = origin + 1 + random.nextInt(Math.min(window, points - 1 - origin));
+			if (taken.add((long) origin * points + destination)) {
+				dag[n++] = new int[] { origin, destination };
+			}
+		}
+		return dag;
+	}
+
+	private static Array _bigintArray(Connection connection, long[] values) throws SQLException {
+		Long[] boxed = new Long[values.length];
+		for (int i = 0; i < values.length; i++) {
+			boxed[i] = values[i];
+		}
+		return connection.createArrayOf("bigint", boxed);
+	}
+}
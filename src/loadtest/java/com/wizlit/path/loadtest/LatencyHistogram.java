@@ -0,0 +1,77 @@
+package com.wizlit.path.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds with about 0.2% relative precision.
+ *
+ * Values below 1024 us get one bucket each; above that every power of two is split into 512 buckets,
+ * so recording is one array increment and percentiles are read off the cumulative counts.
+ */
+final class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 1024;
+	private static final int SUB_BUCKETS = 512;
+	private static final int SUB_BUCKET_BITS = 9;
+	private static final int MAX_SHIFT = 40;
+
+	private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS);
+
+	void record(long micros) {
+		counts.incrementAndGet(_index(Math.max(0, micros)));
+	}
+
+	long count() {
+		long total = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			total += counts.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * Upper bound of the bucket holding the given quantile (0..1), or 0 when nothing was recorded.
+	 */
+	long percentile(double quantile) {
+		long total = count();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(quantile * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return _upperBound(i);
+			}
+		}
+		return _upperBound(counts.length() - 1);
+	}
+
+	long max() {
+		for (int i = counts.length() - 1; i >= 0; i--) {
+			if (counts.get(i) > 0) {
+				return _upperBound(i);
+			}
+		}
+		return 0;
+	}
+
+	private static int _index(long micros) {
+		if (micros < LINEAR_BUCKETS) {
+			return (int) micros;
+		}
+		int shift = Math.min(MAX_SHIFT, 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS);
+		long subBucket = Math.min(SUB_BUCKETS - 1, (micros >> shift) - SUB_BUCKETS);
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) subBucket;
+	}
+
+	private static long _upperBound(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,125 @@
+package com.wizlit.path.loadtest;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * End-to-end load test: generates a dataset, then drives the scenario mix against a running server
+ * and reports throughput and latency percentiles per scenario.
+ *
+ * The server has to run with developer mode (PROFILE=loadtest does that and lifts the per-client rate
+ * limits, which would otherwise turn one driver host into a stream of 429s). Run with:
+ *   mvn -Ploadtest verify -Dloadtest.points=2000 -Dloadtest.edges=5000 -Dloadtest.rate=500
+ *
+ * Options (system properties, defaults in brackets):
+ *   loadtest.baseUrl [http://localhost:8080], loadtest.jdbcUrl [jdbc:postgresql://localhost:5432/test],
+ *   loadtest.dbUser [postgres], loadtest.dbPassword [password],
+ *   loadtest.generate [true], loadtest.projectIds (reuse existing projects when generate=false),
+ *   loadtest.projects [4], loadtest.points [1000], loadtest.edges [2000], loadtest.window [8], loadtest.seed [42],
+ *   loadtest.clients [32], loadtest.rate [0 = closed loop, requests/s otherwise], loadtest.burst [5],
+ *   loadtest.mix [poll:70,point:20,add:5,connect:5], loadtest.warmup [10 s], loadtest.duration [60 s],
+ *   loadtest.output [target/loadtest-result.json]
+ */
+public final class LoadTest {
+
+	private static final double[] PERCENTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<Long> projectIds;
+		if (Boolean.parseBoolean(System.getProperty("loadtest.generate", "true"))) {
+			int points = Integer.getInteger("loadtest.points", 1_000);
+			if (points < 2) {
+				throw new IllegalArgumentException("loadtest.points must be at least 2");
+			}
+			DatasetGenerator generator = new DatasetGenerator(
+					System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:5432/test"),
+					System.getProperty("loadtest.dbUser", "postgres"),
+					System.getProperty("loadtest.dbPassword", "password"));
+			long started = System.nanoTime();
+			projectIds = generator.generate(
+					Integer.getInteger("loadtest.projects", 4),
+					points,
+					Integer.getInteger("loadtest.edges", 2_000),
+					Integer.getInteger("loadtest.window", 8),
+					Long.getLong("loadtest.seed", 42L));
+			System.out.printf("generated projects %s in %d ms%n", projectIds, (System.nanoTime() - started) / 1_000_000);
+		} else {
+			projectIds = Arrays.stream(System.getProperty("loadtest.projectIds", "").split(","))
+					.map(String::trim)
+					.filter(id -> !id.isEmpty())
+					.map(Long::valueOf)
+					.toList();
+		}
+
+		TrafficDriver driver = new TrafficDriver(
+				System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+				Scenario.parseMix(System.getProperty("loadtest.mix", "poll:70,point:20,add:5,connect:5")),
+				Integer.getInteger("loadtest.burst", 5));
+		driver.discover(projectIds);
+
+		Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60L));
+		Map<Scenario, TrafficDriver.ScenarioStats> stats = driver.run(
+				Integer.getInteger("loadtest.clients", 32),
+				Double.parseDouble(System.getProperty("loadtest.rate", "0")),
+				Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+				duration);
+
+		ObjectNode report = _report(stats, duration);
+		File output = new File(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+		if (output.getParentFile() != null) {
+			output.getParentFile().mkdirs();
+		}
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+		System.out.println("results written to " + output.getPath());
+	}
+
+	private static ObjectNode _report(Map<Scenario, TrafficDriver.ScenarioStats> stats, Duration duration) {
+		ObjectMapper mapper = new ObjectMapper();
+		ObjectNode report = mapper.createObjectNode();
+		report.put("durationSeconds", duration.toSeconds());
+		ArrayNode scenarios = report.putArray("scenarios");
+
+		System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+				"scenario", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+		for (Map.Entry<Scenario, TrafficDriver.ScenarioStats> entry : stats.entrySet()) {
+			LatencyHistogram latency = entry.getValue().latency;
+			long requests = latency.count();
+			if (requests == 0) {
+				continue;
+			}
+			Map<Integer, Long> statuses = new TreeMap<>();
+			entry.getValue().statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+			double throughput = (double) requests / duration.toSeconds();
+
+			ObjectNode scenario = scenarios.addObject()
+					.put("scenario", entry.getKey().key())
+					.put("requests", requests)
+					.put("throughput", throughput);
+			ObjectNode percentiles = scenario.putObject("latencyMicros");
+			for (double quantile : PERCENTILES) {
+				percentiles.put("p" + (quantile * 100), latency.percentile(quantile));
+			}
+			percentiles.put("max", latency.max());
+			ObjectNode statusCounts = scenario.putObject("statuses");
+			statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count));
+
+			System.out.printf("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+					entry.getKey().key(), requests, throughput,
+					latency.percentile(0.5) / 1_000.0, latency.percentile(0.9) / 1_000.0,
+					latency.percentile(0.99) / 1_000.0, latency.percentile(0.999) / 1_000.0,
+					latency.max() / 1_000.0, statuses);
+		}
+		return report;
+	}
+}
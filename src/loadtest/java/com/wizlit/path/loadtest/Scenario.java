@@ -0,0 +1,54 @@
+package com.wizlit.path.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request types of the traffic mix, keyed by the name used in -Dloadtest.mix.
+ */
+enum Scenario {
+
+	// GET /api/project/{id}?lastFetchTimestamp= as an open client tab polls it
+	POLL("poll"),
+	// GET /api/point/{id}
+	POINT("point"),
+	// POST /api/point with origin and destination, splitting an existing edge
+	ADD("add"),
+	// a burst of PUT /api/point/{origin}/point/{destination} on one project
+	CONNECT("connect");
+
+	private final String key;
+
+	Scenario(String key) {
+		this.key = key;
+	}
+
+	String key() {
+		return key;
+	}
+
+	/**
+	 * Parses "poll:70,point:20,add:5,connect:5" into weights; scenarios not listed get weight 0.
+	 */
+	static Map<Scenario, Integer> parseMix(String mix) {
+		Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("invalid mix entry: " + entry);
+			}
+			weights.put(_byKey(parts[0].trim().toLowerCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+		}
+		return weights;
+	}
+
+	private static Scenario _byKey(String key) {
+		for (Scenario scenario : values()) {
+			if (scenario.key.equals(key)) {
+				return scenario;
+			}
+		}
+		throw new IllegalArgumentException("unknown scenario: " + key);
+	}
+}
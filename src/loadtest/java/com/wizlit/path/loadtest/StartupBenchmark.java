@@ -0,0 +1,193 @@
+package com.wizlit.path.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Startup benchmark: launches the extracted application of the startup profile in each mode and measures the
+ * time from process start to the first successful GET /api/project/{id}, the moment a new node can take traffic.
+ *
+ * Modes: jvm (plain), aot (-Dspring.aot.enabled=true), cds (jvm.jsa), aot-cds (aot.jsa with AOT).
+ * Every run gets a fresh access history, so no run warms up from the reads of the one before.
+ * Needs Postgres like the load test; run with:
+ *   mvn -Pstartup verify -Dstartup.benchmark.skip=false -Dstartup.runs=5
+ *
+ * Options (system properties, defaults in brackets):
+ *   startup.directory, startup.jar (set by the pom), startup.modes [jvm,aot,cds,aot-cds], startup.runs [5],
+ *   startup.port [18080], startup.profile [loadtest], startup.timeout [120 s],
+ *   startup.projectId (generates a project over JDBC when absent), startup.points [1000], startup.edges [2000],
+ *   loadtest.jdbcUrl, loadtest.dbUser, loadtest.dbPassword (as in LoadTest),
+ *   startup.output [target/startup-result.json]
+ */
+public final class StartupBenchmark {
+
+	private static final long POLL_MILLIS = 5;
+
+	private StartupBenchmark() {
+	}
+
+	enum Mode {
+		JVM("jvm"),
+		AOT("aot", "-Dspring.aot.enabled=true"),
+		CDS("cds", "-XX:SharedArchiveFile=jvm.jsa"),
+		AOT_CDS("aot-cds", "-XX:SharedArchiveFile=aot.jsa", "-Dspring.aot.enabled=true");
+
+		private final String key;
+		private final List<String> jvmOptions;
+
+		Mode(String key, String... jvmOptions) {
+			this.key = key;
+			this.jvmOptions = List.of(jvmOptions);
+		}
+
+		static Mode of(String key) {
+			for (Mode mode : values()) {
+				if (mode.key.equals(key)) {
+					return mode;
+				}
+			}
+			throw new IllegalArgumentException("unknown startup mode '" + key + "'");
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Path directory = Path.of(System.getProperty("startup.directory", "target/application"));
+		String jar = System.getProperty("startup.jar");
+		if (jar == null || !Files.exists(directory.resolve(jar))) {
+			throw new IllegalStateException("no extracted application in " + directory + ", build with mvn -Pstartup package");
+		}
+		List<Mode> modes = Arrays.stream(System.getProperty("startup.modes", "jvm,aot,cds,aot-cds").split(","))
+				.map(String::trim)
+				.filter(key -> !key.isEmpty())
+				.map(Mode::of)
+				.toList();
+		int runs = Integer.getInteger("startup.runs", 5);
+		int port = Integer.getInteger("startup.port", 18080);
+		Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeout", 120L));
+		long projectId = _projectId();
+		URI probe = URI.create("http://localhost:" + port + "/api/project/" + projectId + "?edgeFormat=compact");
+
+		ObjectMapper mapper = new ObjectMapper();
+		ObjectNode report = mapper.createObjectNode();
+		report.put("projectId", projectId);
+		report.put("runs", runs);
+		ArrayNode results = report.putArray("modes");
+
+		System.out.printf("%-8s %9s %9s %9s  %s%n", "mode", "min ms", "p50 ms", "max ms", "runs ms");
+		for (Mode mode : modes) {
+			long[] millis = new long[runs];
+			for (int run = 0; run < runs; run++) {
+				millis[run] = _timeToFirstRead(mode, directory, jar, port, probe, timeout, run);
+			}
+			long[] sorted = millis.clone();
+			Arrays.sort(sorted);
+
+			ObjectNode result = results.addObject()
+					.put("mode", mode.key)
+					.put("minMillis", sorted[0])
+					.put("medianMillis", sorted[runs / 2])
+					.put("maxMillis", sorted[runs - 1]);
+			ArrayNode samples = result.putArray("millis");
+			Arrays.stream(millis).forEach(samples::add);
+
+			System.out.printf("%-8s %9d %9d %9d  %s%n",
+					mode.key, sorted[0], sorted[runs / 2], sorted[runs - 1], Arrays.toString(millis));
+		}
+
+		File output = new File(System.getProperty("startup.output", "target/startup-result.json"));
+		if (output.getParentFile() != null) {
+			output.getParentFile().mkdirs();
+		}
+		mapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+		System.out.println("results written to " + output.getPath());
+	}
+
+	private static long _projectId() throws Exception {
+		String projectId = System.getProperty("startup.projectId");
+		if (projectId != null) {
+			return Long.parseLong(projectId);
+		}
+		DatasetGenerator generator = new DatasetGenerator(
+				System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:5432/test"),
+				System.getProperty("loadtest.dbUser", "postgres"),
+				System.getProperty("loadtest.dbPassword", "password"));
+		return generator.generate(
+				1,
+				Integer.getInteger("startup.points", 1_000),
+				Integer.getInteger("startup.edges", 2_000),
+				8,
+				42L).get(0);
+	}
+
+	/**
+	 * Starts the application, polls the probe until it answers 200 and stops the application again.
+	 * The archives record the class path as given, so the jar is started from its own directory by its bare name.
+	 */
+	private static long _timeToFirstRead(Mode mode, Path directory, String jar, int port, URI probe, Duration timeout, int run)
+			throws IOException, InterruptedException {
+		Path history = Files.createTempFile("startup-history", ".bin");
+		Files.delete(history);
+		Path log = directory.resolve("startup-" + mode.key + "-" + run + ".log");
+
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(mode.jvmOptions);
+		command.addAll(List.of("-jar", jar,
+				"--server.port=" + port,
+				"--app.warmup.history-file=" + history));
+		ProcessBuilder builder = new ProcessBuilder(command)
+				.directory(directory.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile());
+		builder.environment().put("PROFILE", System.getProperty("startup.profile", "loadtest"));
+
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(1))
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+
+		long started = System.nanoTime();
+		Process process = builder.start();
+		try {
+			long deadline = started + timeout.toNanos();
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException(mode.key + " exited with " + process.exitValue() + ", see " + log);
+				}
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+						return (System.nanoTime() - started) / 1_000_000;
+					}
+				} catch (IOException notServingYet) {
+					// not listening yet: keep polling
+				}
+				Thread.sleep(POLL_MILLIS);
+			}
+			throw new IllegalStateException(String.format(Locale.ROOT, "%s not serving %s after %d s, see %s",
+					mode.key, probe, timeout.toSeconds(), log));
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+			Files.deleteIfExists(history);
+		}
+	}
+}
@@ -0,0 +1,313 @@
+package com.wizlit.path.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Drives the scenario mix against a running server, one virtual thread per simulated client.
+ *
+ * With a target rate each client sends on a fixed schedule and latency is measured from the scheduled
+ * start, so time spent waiting behind a slow response is counted (no coordinated omission). Without a
+ * rate every client sends its next request as soon as the previous one returned (closed loop).
+ * Requests scheduled during the warm-up are sent but not recorded.
+ */
+final class TrafficDriver {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	// destinations of connect requests are drawn this close to the origin in topological order
+	private static final int CONNECT_WINDOW = 16;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final String baseUrl;
+	private final Scenario[] schedule;
+	private final int burst;
+	private final List<ProjectState> projects = new ArrayList<>();
+	private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+
+	TrafficDriver(String baseUrl, Map<Scenario, Integer> weights, int burst) {
+		this.baseUrl = baseUrl;
+		this.burst = burst;
+
+		List<Scenario> slots = new ArrayList<>();
+		weights.forEach((scenario, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				slots.add(scenario);
+			}
+		});
+		if (slots.isEmpty()) {
+			throw new IllegalArgumentException("the scenario mix has no weight");
+		}
+		this.schedule = slots.toArray(Scenario[]::new);
+
+		for (Scenario scenario : Scenario.values()) {
+			stats.put(scenario, new ScenarioStats());
+		}
+	}
+
+	/**
+	 * Learns points and edges of each project through the API itself (compact edge format).
+	 */
+	void discover(List<Long> projectIds) throws IOException, InterruptedException {
+		for (long projectId : projectIds) {
+			HttpResponse<String> response = client.send(
+					_get("/api/project/" + projectId + "?edgeFormat=compact"), HttpResponse.BodyHandlers.ofString());
+			JsonNode project = mapper.readTree(response.body()).path("data").path("projects").path(0);
+			if (response.statusCode() != 200 || project.isMissingNode()) {
+				throw new IllegalStateException("project " + projectId + " not readable: HTTP " + response.statusCode());
+			}
+
+			long[] pointIds = _longs(project.path("allPointIds"));
+			Arrays.sort(pointIds);
+			JsonNode edges = project.path("compactEdges");
+			projects.add(new ProjectState(projectId, pointIds, _longs(edges.path("origins")), _longs(edges.path("destinations"))));
+		}
+	}
+
+	Map<Scenario, ScenarioStats> run(int clients, double rate, Duration warmup, Duration duration) {
+		if (projects.isEmpty()) {
+			throw new IllegalStateException("no project discovered");
+		}
+		long started = System.nanoTime();
+		long warmupEnd = started + warmup.toNanos();
+		long end = warmupEnd + duration.toNanos();
+		long intervalNanos = rate > 0 ? (long) (1_000_000_000L * clients / rate) : 0;
+
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < clients; c++) {
+				// spread the first requests over one interval instead of sending them all at once
+				long firstStart = started + (clients > 0 ? intervalNanos * c / clients : 0);
+				workers.submit(() -> _client(firstStart, intervalNanos, warmupEnd, end));
+			}
+		}
+		return stats;
+	}
+
+	private void _client(long firstStart, long intervalNanos, long warmupEnd, long end) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Map<Long, Long> lastFetch = new HashMap<>();
+		long scheduled = firstStart;
+
+		while (!Thread.currentThread().isInterrupted()) {
+			if (intervalNanos == 0) {
+				scheduled = System.nanoTime();
+			}
+			if (scheduled >= end) {
+				return;
+			}
+			long wait = scheduled - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Scenario scenario = schedule[random.nextInt(schedule.length)];
+			ProjectState project = projects.get(random.nextInt(projects.size()));
+			boolean measured = scheduled >= warmupEnd;
+			try {
+				_execute(scenario, project, random, lastFetch, scheduled, measured);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			scheduled += intervalNanos;
+		}
+	}
+
+	private void _execute(Scenario scenario, ProjectState project, Random random, Map<Long, Long> lastFetch,
+			long scheduled, boolean measured) throws InterruptedException {
+		switch (scenario) {
+			case POLL -> {
+				Long last = lastFetch.put(project.projectId, System.currentTimeMillis());
+				String query = last != null ? "?lastFetchTimestamp=" + last : "";
+				_send(scenario, _get("/api/project/" + project.projectId + query), scheduled, measured);
+			}
+			case POINT -> _send(scenario, _get("/api/point/" + project.randomPoint(random)), scheduled, measured);
+			case ADD -> {
+				long[] edge = project.takeEdge(random);
+				if (edge == null) {
+					return;
+				}
+				ObjectNode body = mapper.createObjectNode()
+						.put("projectId", project.projectId)
+						.put("title", "lt-add-" + UUID.randomUUID())
+						.put("origin", edge[0])
+						.put("destination", edge[1]);
+				HttpResponse<String> response = _send(scenario, _write("POST", "/api/point", body.toString()), scheduled, measured);
+				Long middle = response != null && response.statusCode() == 201 ? _currentId(response) : null;
+				if (middle != null) {
+					project.split(edge[0], edge[1], middle);
+				} else {
+					project.putEdge(edge[0], edge[1]);
+				}
+			}
+			case CONNECT -> {
+				List<CompletableFuture<?>> requests = new ArrayList<>(burst);
+				for (int i = 0; i < burst; i++) {
+					long[] pair = project.forwardPair(random);
+					HttpRequest request = _write("PUT", "/api/point/" + pair[0] + "/point/" + pair[1], null);
+					requests.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+							.handle((response, error) -> {
+								_record(scenario, scheduled, response != null ? response.statusCode() : -1, measured);
+								return null;
+							}));
+				}
+				CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+			}
+		}
+	}
+
+	private HttpResponse<String> _send(Scenario scenario, HttpRequest request, long scheduled, boolean measured)
+			throws InterruptedException {
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			_record(scenario, scheduled, response.statusCode(), measured);
+			return response;
+		} catch (IOException e) {
+			_record(scenario, scheduled, -1, measured);
+			return null;
+		}
+	}
+
+	private void _record(Scenario scenario, long scheduled, int status, boolean measured) {
+		if (measured) {
+			stats.get(scenario).record((System.nanoTime() - scheduled) / 1_000, status);
+		}
+	}
+
+	private HttpRequest _get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Accept", "application/json")
+				.GET()
+				.build();
+	}
+
+	private HttpRequest _write(String method, String path, String json) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Accept", "application/json")
+				.header("Content-Type", "application/json")
+				.header("Idempotency-Key", UUID.randomUUID().toString())
+				.method(method, json != null ? HttpRequest.BodyPublishers.ofString(json) : HttpRequest.BodyPublishers.noBody())
+				.build();
+	}
+
+	private Long _currentId(HttpResponse<String> response) {
+		try {
+			JsonNode currentId = mapper.readTree(response.body()).path("data").path("currentId");
+			return currentId.isNumber() ? currentId.asLong() : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static long[] _longs(JsonNode array) {
+		long[] values = new long[array.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = array.get(i).asLong();
+		}
+		return values;
+	}
+
+	/**
+	 * Latency and status codes of one scenario.
+	 */
+	static final class ScenarioStats {
+
+		final LatencyHistogram latency = new LatencyHistogram();
+		final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+		void record(long micros, int status) {
+			latency.record(micros);
+			statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+		}
+	}
+
+	/**
+	 * What the driver knows about one project. Edges change as add requests split them.
+	 */
+	private static final class ProjectState {
+
+		final long projectId;
+		// generated points in ascending id order, which is a topological order of the generated DAG
+		private final long[] generatedPoints;
+		private final List<Long> points = new ArrayList<>();
+		private final List<long[]> edges = new ArrayList<>();
+
+		ProjectState(long projectId, long[] pointIds, long[] origins, long[] destinations) {
+			this.projectId = projectId;
+			this.generatedPoints = pointIds;
+			for (long pointId : pointIds) {
+				points.add(pointId);
+			}
+			for (int i = 0; i < origins.length; i++) {
+				edges.add(new long[] { origins[i], destinations[i] });
+			}
+		}
+
+		synchronized long randomPoint(Random random) {
+			return points.get(random.nextInt(points.size()));
+		}
+
+		/**
+		 * Two generated points in topological order, so connecting them can never close a cycle.
+		 * The pair may already be connected, which the server answers with 409.
+		 */
+		long[] forwardPair(Random random) {
+			int origin = random.nextInt(generatedPoints.length - 1);
+			int destination = origin + 1 + random.nextInt(Math.min(CONNECT_WINDOW, generatedPoints.length - 1 - origin));
+			return new long[] { generatedPoints[origin], generatedPoints[destination] };
+		}
+
+		/**
+		 * Removes a random edge so no other client splits it concurrently; it is put back or replaced afterwards.
+		 */
+		synchronized long[] takeEdge(Random random) {
+			if (edges.isEmpty()) {
+				return null;
+			}
+			int index = random.nextInt(edges.size());
+			long[] edge = edges.get(index);
+			edges.set(index, edges.get(edges.size() - 1));
+			edges.remove(edges.size() - 1);
+			return edge;
+		}
+
+		synchronized void putEdge(long origin, long destination) {
+			edges.add(new long[] { origin, destination });
+		}
+
+		synchronized void split(long origin, long destination, long middle) {
+			points.add(middle);
+			edges.add(new long[] { origin, middle });
+			edges.add(new long[] { middle, destination });
+		}
+	}
+}
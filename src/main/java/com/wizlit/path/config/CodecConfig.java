@@ -0,0 +1,37 @@
+package com.wizlit.path.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wizlit.path.utils.PayloadCodec;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers CBOR and Smile codecs backed by the application's Jackson configuration,
+ * so any controller returning ResponseWithChange can be negotiated into a binary format.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CodecConfig implements WebFluxConfigurer {
+
+    private final PayloadCodec payloadCodec;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper smileMapper = payloadCodec.mapperFor(PayloadCodec.APPLICATION_SMILE);
+        ObjectMapper cborMapper = payloadCodec.mapperFor(MediaType.APPLICATION_CBOR);
+
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+    }
+}
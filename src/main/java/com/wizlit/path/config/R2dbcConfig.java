@@ -1,15 +1,46 @@
 package com.wizlit.path.config;
 
+import java.util.List;
+
 import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+import com.wizlit.path.utils.PackedLongs;
 
+/**
+ * Postgres storage engine (app.storage.engine=r2dbc, the default). The in-memory engine lives in repository.memory.
+ */
 @Configuration
+@EnableR2dbcRepositories(basePackages = "com.wizlit.path.repository")
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "r2dbc", matchIfMissing = true)
 public class R2dbcConfig {
 
+    /**
+     * Replaces only Boot's conversions bean; Boot's mapping context, converter and entity template pick it up,
+     * so its naming strategy and entity scanning stay in place.
+     */
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory), List.of(new PackedLongs.Reader()));
+    }
+
+    /**
+     * Migrates on startup, except in a CDS training run (-Dspring.context.exit=onRefresh, see the startup profile):
+     * that run only loads classes during the image build and has no database to migrate.
+     */
     @Bean
-    public R2dbcEntityTemplate r2dbcEntityTemplate(ConnectionFactory connectionFactory) {
-        return new R2dbcEntityTemplate(connectionFactory);
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.context.exit:}") String contextExit) {
+        return flyway -> {
+            if (!"onRefresh".equals(contextExit)) {
+                flyway.migrate();
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,10 @@
 package com.wizlit.path.controller;
 
 import com.wizlit.path.model.response.FinalResponse;
+import com.wizlit.path.service.IdempotencyService;
 import com.wizlit.path.service.PointService;
 import com.wizlit.path.utils.PrivateAccess;
+import com.wizlit.path.utils.RateLimited;
 import com.wizlit.path.exception.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,19 +14,27 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.Objects;
 
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.PathMetric;
 import com.wizlit.path.model.ResponseWithChange;
+import com.wizlit.path.model.TraversalDirection;
 import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.NeighborhoodDto;
+import com.wizlit.path.model.domain.PathDto;
 import com.wizlit.path.model.request.AddPointRequest;
 import com.wizlit.path.model.request.UpdatePointRequest;
 import com.wizlit.path.service.UserService;
@@ -42,13 +52,16 @@ public class PointController {
 
     private final PointService pointService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
     @Value("${app.googledrive.folderId}")
     private String googleDriveFolderId;
 
     @Operation(
         summary = "Add a new point",
-        description = "Creates a new point in the project with the specified title and connections"
+        description = "Creates a new point in the project with the specified title and connections. " +
+            "Retries sent with the same Idempotency-Key replay the first result instead of creating the point again; " +
+            "the key cannot be reused for a different request body."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Point created successfully"),
@@ -67,6 +80,9 @@ public class PointController {
         @ApiResponse(responseCode = "409", description = "Point title already exists (ErrorCode: POINT_NAME_DUPLICATED)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request (ErrorCode: IDEMPOTENCY_KEY_REUSED)",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error (ErrorCode: INTERNAL_SERVER, UNKNOWN)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class)))
@@ -77,18 +93,20 @@ public class PointController {
             @RequestAttribute("email") String email,
             @RequestAttribute("name") String name,
             @RequestAttribute("avatar") String avatar,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody AddPointRequest addPointRequest
     ) {
-        return userService.getUserByEmailAndCreateIfNotExists(email, name, avatar)
-            .flatMap(user -> pointService.createPoint(
-                addPointRequest.getProjectId(),
-                user,
-                addPointRequest.getTitle(),
-                addPointRequest.getOrigin(),
-                addPointRequest.getDestination()
-            ))
-            .map(point -> new FinalResponse().forOnlyPoint(point.getPointId(), point))
-            .map(ResponseWithChange::new)
+        return idempotencyService.execute("addPoint:" + email, idempotencyKey, addPointRequest, FinalResponse.class, () ->
+                userService.getUserByEmailAndCreateIfNotExists(email, name, avatar)
+                    .flatMap(user -> pointService.createPoint(
+                        addPointRequest.getProjectId(),
+                        user,
+                        addPointRequest.getTitle(),
+                        addPointRequest.getOrigin(),
+                        addPointRequest.getDestination()
+                    ))
+                    .map(point -> new FinalResponse().forOnlyPoint(point.getPointId(), point))
+                    .map(ResponseWithChange::new))
             .map(responseWithChange -> responseWithChange.toResponseEntity(HttpStatus.CREATED));
     }
 
@@ -207,19 +225,22 @@ public class PointController {
 
     /**
      * Connects two points by creating an edge between the specified origin and destination.
-     * The connection is assigned a default weight of 5.
+     * The connection is assigned the given weight, or a default weight of 5 without one.
      *
      * @pathVariable origin      the starting point of the edge to be created
      * @pathVariable destination the ending point of the edge to be created
+     * @requestParam weight      optional non-negative weight of the edge, used by cheapest-path queries
      * @return a Mono containing the ResponseEntity with the created OutputEdgeDto and a status of HTTP 201 (Created)
      */
     @Operation(
         summary = "Connect two points",
-        description = "Creates an edge between two points with a default weight of 5"
+        description = "Creates an edge between two points with the given weight (default 5 when omitted). " +
+            "Retries sent with the same Idempotency-Key replay the first result; " +
+            "the key cannot be reused for other points or another weight."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Points connected successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: NULL_INPUT, NULL_POINTS, SAME_POINTS, INVALID_NUMERIC_IDS, BACKWARD_PATH, EMPTY)",
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: NULL_INPUT, NULL_POINTS, SAME_POINTS, INVALID_NUMERIC_IDS, INVALID_OPTION, BACKWARD_PATH, EMPTY)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized access (ErrorCode: INVALID_TOKEN, EXPIRED_TOKEN)",
@@ -234,6 +255,9 @@ public class PointController {
         @ApiResponse(responseCode = "409", description = "Edge already exists (ErrorCode: EDGE_ALREADY_EXISTS)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request (ErrorCode: IDEMPOTENCY_KEY_REUSED)",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error (ErrorCode: INTERNAL_SERVER, UNKNOWN)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class)))
@@ -241,11 +265,16 @@ public class PointController {
     @PutMapping("/{originPointId}/point/{destinationPointId}")
     @PrivateAccess
     public Mono<ResponseEntity<ResponseWithChange<EdgeDto>>> connectTwoPoints(
+        @RequestAttribute("email") String email,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
         @PathVariable Long originPointId,
-        @PathVariable Long destinationPointId
+        @PathVariable Long destinationPointId,
+        @RequestParam(required = false) Integer weight
     ) {
-        return pointService.connectPoints(originPointId, destinationPointId)
-                .map(ResponseWithChange::new)
+        return idempotencyService.execute("connectTwoPoints:" + email, idempotencyKey,
+                Arrays.asList(originPointId, destinationPointId, weight), EdgeDto.class, () ->
+                pointService.connectPoints(originPointId, destinationPointId, weight)
+                    .map(ResponseWithChange::new))
                 .map(responseWithChange -> responseWithChange.toResponseEntity(HttpStatus.CREATED));
     }
 
@@ -289,4 +318,84 @@ public class PointController {
             .map(responseWithChange -> responseWithChange.toResponseEntity(HttpStatus.OK));
     }
 
+    /**
+     * Finds the shortest or cheapest route between two points of a project.
+     *
+     * @pathVariable origin      the point the route starts at
+     * @pathVariable destination the point the route ends at
+     * @requestParam projectId   project whose edges are searched, the origin's project when omitted
+     * @requestParam metric      shortest (fewest edges, default) or cheapest (lowest sum of edge weights)
+     * @return a Mono containing the ResponseEntity with the route and a status of HTTP 200 (OK)
+     */
+    @Operation(
+        summary = "Find a path between two points",
+        description = "Returns the full route from origin to destination over the project's edges, " +
+            "with the fewest edges (metric=shortest, default) or the lowest total weight (metric=cheapest). " +
+            "Edges stored without a weight count with the default weight of 5."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Path found"),
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: INVALID_OPTION)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Project, point or path not found (ErrorCode: PROJECT_NOT_FOUND, POINT_NOT_FOUND, PATH_NOT_FOUND)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error (ErrorCode: INTERNAL_SERVER, UNKNOWN)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{originPointId}/path/{destinationPointId}")
+    public Mono<ResponseEntity<ResponseWithChange<PathDto>>> findPath(
+        @PathVariable Long originPointId,
+        @PathVariable Long destinationPointId,
+        @RequestParam(required = false) Long projectId,
+        @RequestParam(required = false) String metric
+    ) {
+        return pointService.findPath(projectId, originPointId, destinationPointId, PathMetric.from(metric))
+            .map(ResponseWithChange::new)
+            .map(responseWithChange -> responseWithChange.toResponseEntity(HttpStatus.OK));
+    }
+
+    /**
+     * Streams the neighborhood of a point level by level as newline-delimited JSON.
+     *
+     * @pathVariable pointId   the point the walk starts at
+     * @requestParam direction downstream (outgoing edges, default), upstream (incoming edges) or both
+     * @requestParam hops      how many edges away from the point to go, 1 to app.neighborhood.max-hops
+     * @requestParam fields    sparse fieldset of the points and edges groups, as for projects
+     * @return a Flux of levels: hop 0 is the point itself, each later hop the newly reached points and the edges leading there
+     */
+    @Operation(
+        summary = "Stream the neighborhood of a point",
+        description = "Returns the points within the given number of hops and the edges followed to reach them, " +
+            "one application/x-ndjson line per hop, so a client can render the nearest levels first. " +
+            "The request deadline (X-Request-Timeout) bounds the reads of each level rather than the whole stream; " +
+            "a level exceeding it ends the stream after the levels already sent."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Neighborhood streamed",
+            content = @Content(mediaType = "application/x-ndjson",
+                schema = @Schema(implementation = NeighborhoodDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: INVALID_OPTION, NON_EXISTENT_POINTS)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "429", description = "Too many requests from this client (ErrorCode: RATE_LIMITED)",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error (ErrorCode: INTERNAL_SERVER, UNKNOWN)",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/{pointId}/neighborhood", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimited(perSecond = 5, burst = 20)
+    public Flux<NeighborhoodDto> streamNeighborhood(
+        @PathVariable Long pointId,
+        @RequestParam(required = false) String direction,
+        @RequestParam(defaultValue = "1") Integer hops,
+        @RequestParam(required = false) String fields
+    ) {
+        return pointService.streamNeighborhood(pointId, TraversalDirection.from(direction), hops, FieldSelection.parse(fields));
+    }
+
 }
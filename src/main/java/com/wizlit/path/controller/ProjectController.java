@@ -4,6 +4,9 @@ import com.wizlit.path.model.*;
 import com.wizlit.path.model.response.FinalResponse;
 import com.wizlit.path.service.PointService;
 import com.wizlit.path.service.ProjectService;
+import com.wizlit.path.utils.PayloadCodec;
+import com.wizlit.path.utils.RateLimited;
+import com.wizlit.path.utils.SingleFlight;
 import com.wizlit.path.exception.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,7 +17,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -33,12 +38,23 @@ public class ProjectController {
 
     private final PointService pointService;
     private final ProjectService projectService;
+    private final PayloadCodec payloadCodec;
+
+    private final SingleFlight<String, byte[]> projectResponses = new SingleFlight<>();
 
     /**
      * Retrieves all points and their associated edges from the system.
      * If no points are available, it returns a ResponseEntity with a no-content status.
      * In case of an error during the process, it returns an internal server error response.
      *
+     * Identical concurrent reads (same project, lastFetchTimestamp and negotiated format) share one pipeline
+     * and one serialized body. The body is JSON, CBOR or Smile depending on the Accept header.
+     * edgeFormat=compact|delta returns the edges as parallel origin/destination arrays instead of objects.
+     * fields=points(pointId,pointTitle),edges narrows the response; groups and fields left out are not queried
+     * where possible (no edge query without edges, no memo join without memoIdsInOrder).
+     * layout=true adds the topological order, layer per point, roots and leaves of the project graph,
+     * precomputed and cached by the server so clients do not have to sort the DAG themselves.
+     *
      * @return a Mono containing a ResponseEntity with an OutputPathDto object that includes all points and edges,
      *         or appropriate response statuses (e.g., no content or internal server error).
      */
@@ -47,8 +63,13 @@ public class ProjectController {
         description = "Retrieves details of a specific project including its points and memos"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved project details"),
-        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: NULL_INPUT, EMPTY)",
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved project details",
+            content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseWithChange.class)),
+                @Content(mediaType = "application/cbor", schema = @Schema(implementation = ResponseWithChange.class)),
+                @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = ResponseWithChange.class))
+            }),
+        @ApiResponse(responseCode = "400", description = "Invalid input parameters (ErrorCode: NULL_INPUT, EMPTY, INVALID_OPTION)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized access (ErrorCode: INVALID_TOKEN, EXPIRED_TOKEN)",
@@ -60,24 +81,43 @@ public class ProjectController {
         @ApiResponse(responseCode = "404", description = "Project not found (ErrorCode: PROJECT_NOT_FOUND)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "429", description = "Too many requests from this client (ErrorCode: RATE_LIMITED)",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error (ErrorCode: INTERNAL_SERVER, UNKNOWN)",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @GetMapping("/{projectId}")
-    public Mono<ResponseEntity<ResponseWithChange<FinalResponse>>> getProject(
+    @GetMapping(value = "/{projectId}", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile"
+    })
+    @RateLimited(perSecond = 5, burst = 20)
+    public Mono<ResponseEntity<byte[]>> getProject(
         @PathVariable Long projectId,
-        @RequestParam(required = false) Long lastFetchTimestamp
+        @RequestParam(required = false) Long lastFetchTimestamp,
+        @RequestParam(required = false) String edgeFormat,
+        @RequestParam(required = false) String fields,
+        @RequestParam(required = false) Boolean layout,
+        ServerHttpRequest request
     ) {
         Instant updatedAfter = lastFetchTimestamp != null ? Instant.ofEpochMilli(lastFetchTimestamp) : null;
-        
-        return projectService.getProjectById(projectId)
-            .flatMap(project -> pointService.listPointsByIds(project.getAllPointIds(), updatedAfter)
-                .collectList()
-                .map(points -> new FinalResponse().forGetProject(project.getProjectId(), project, points)))
-            .switchIfEmpty(Mono.just(new FinalResponse()))
-            .map(ResponseWithChange::new)
-            .map(response -> response.toResponseEntity(HttpStatus.OK));
+        FieldSelection selection = FieldSelection.parse(fields);
+        EdgeFormat edges = selection.includes(FieldSelection.EDGES) ? EdgeFormat.from(edgeFormat) : EdgeFormat.NONE;
+        boolean withLayout = Boolean.TRUE.equals(layout);
+        MediaType format = payloadCodec.negotiate(request.getHeaders().getAccept());
+
+        String key = projectId + ":" + lastFetchTimestamp + ":" + edges + ":" + withLayout + ":" + selection + ":" + format;
+        return projectResponses.execute(key, () ->
+                projectService.getProjectById(projectId, edges, withLayout)
+                    .flatMap(project -> pointService.listPointsByIds(project.getAllPointIds(), updatedAfter, selection)
+                        .collectList()
+                        .map(points -> new FinalResponse().forGetProject(project.getProjectId(), selection.apply(project), points)))
+                    .switchIfEmpty(Mono.just(new FinalResponse()))
+                    .map(ResponseWithChange::new)
+                    .map(response -> payloadCodec.encode(format, response)))
+            .map(body -> ResponseEntity.status(HttpStatus.OK)
+                .contentType(format)
+                .body(body));
     }
 
 }
@@ -11,15 +11,31 @@ import org.springframework.data.relational.core.mapping.Table;
 @Builder
 @Table("edge")
 public class Edge {
+    /**
+     * Weight of an edge stored without one.
+     */
+    public static final int DEFAULT_WEIGHT = 5;
+
     @Column("origin_point")
     private Long originPoint;
 
     @Column("destination_point")
     private Long destinationPoint;
 
+    // null: DEFAULT_WEIGHT
+    @Column("weight")
+    private Integer weight;
+
+    public Edge(Long originPoint, Long destinationPoint) {
+        this(originPoint, destinationPoint, null);
+    }
+
     // Composite primary key
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class EdgeId {
         private Long originPoint;
         private Long destinationPoint;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.wizlit.path.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("idempotency_record")
+public class IdempotencyRecord {
+    @Id
+    @Column("idempotency_key")
+    private String idempotencyKey;
+
+    @Column("response_data")
+    private String responseData; // JSON of ResponseWithChange.data
+
+    @Column("request_hash")
+    private String requestHash; // SHA-256 (hex) of the request the result answers
+
+    @Column("last_change_time")
+    private Long lastChangeTime;
+
+    @Column("expires_timestamp")
+    private Instant expiresTimestamp;
+}
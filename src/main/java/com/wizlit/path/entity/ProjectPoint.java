@@ -17,6 +17,9 @@ public class ProjectPoint {
     private Long pointId;
 
     // Composite primary key
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class ProjectPointId {
         private Long projectId;
         private Long pointId;
@@ -14,6 +14,8 @@ public enum ErrorCode {
     // path errors
     BACKWARD_PATH(HttpStatus.CONFLICT,
             "It is a backward path from originPoint to destinationPoint within %d edges - origin: %d, destination: %d"),
+    PATH_NOT_FOUND(HttpStatus.NOT_FOUND,
+            "No path leads from originPoint to destinationPoint - origin: %d, destination: %d"),
 
     // point errors
     NULL_POINTS(HttpStatus.BAD_REQUEST,
@@ -40,6 +42,8 @@ public enum ErrorCode {
     // edge errors
     EDGE_ALREADY_EXISTS(HttpStatus.BAD_REQUEST,
             "An edge already exists between these points - origin: %d, destination: %d"),
+    EDGES_ALREADY_EXIST(HttpStatus.BAD_REQUEST,
+            "At least one of the %d edges already exists, none were created"),
 
     // memo errors
     MEMO_ALREADY_EXISTS(HttpStatus.BAD_REQUEST,
@@ -72,6 +76,8 @@ public enum ErrorCode {
             "Field '%s' must not exceed %s characters"),
     NULL_INPUT(HttpStatus.BAD_REQUEST,
             "parameter is null - %s"),
+    INVALID_OPTION(HttpStatus.BAD_REQUEST,
+            "Unsupported value for '%s': %s"),
 
     // Generic errors
     EMPTY(HttpStatus.BAD_REQUEST,
@@ -82,8 +88,16 @@ public enum ErrorCode {
             "Token expired"),
     INACCESSIBLE_USER(HttpStatus.FORBIDDEN,
             "You are not allowed to access this resource"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY,
+            "The Idempotency-Key was already used for a different request - key: %s"),
     USER_NOT_FOUND(HttpStatus.NOT_FOUND,
             "User not found with email: %s"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS,
+            "Too many requests to %s, retry after %d ms"),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT,
+            "The request deadline of %d ms was exceeded"),
+    SERVER_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many concurrent %s requests, retry after %d seconds"),
     INTERNAL_SERVER(HttpStatus.INTERNAL_SERVER_ERROR,
             "An unexpected error occurred. - %s"),
     UNKNOWN(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -1,9 +1,11 @@
 package com.wizlit.path.logging;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
 
 @Configuration
 @EnableR2dbcAuditing
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "r2dbc", matchIfMissing = true)
 public class AuditingConfig {
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.wizlit.path.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.wizlit.path.utils.PackedLongs;
+
+/**
+ * Edges as two parallel primitive arrays, sorted by (origin, destination).
+ * No object is created per edge, neither when reading the rows nor when writing the response.
+ *
+ * Written as {"encoding": "plain"|"delta", "origins": [...], "destinations": [...]}.
+ * With delta encoding, origins[i] is the difference to origins[i - 1] and destinations[i] the
+ * difference to origins[i] (both before encoding); clients rebuild them with a running sum.
+ */
+@JsonSerialize(using = CompactEdges.Serializer.class)
+public final class CompactEdges {
+
+    private static final CompactEdges EMPTY = new CompactEdges(new long[0], new long[0], false);
+
+    private final long[] origins;
+    private final long[] destinations;
+    private final boolean delta;
+
+    private CompactEdges(long[] origins, long[] destinations, boolean delta) {
+        this.origins = origins;
+        this.destinations = destinations;
+        this.delta = delta;
+    }
+
+    public static CompactEdges empty() {
+        return EMPTY;
+    }
+
+    public static CompactEdges decode(EdgeColumns columns) {
+        if (columns == null || columns.origins() == null || columns.destinations() == null) {
+            return EMPTY;
+        }
+        return new CompactEdges(PackedLongs.unpack(columns.origins()), PackedLongs.unpack(columns.destinations()), false);
+    }
+
+    /**
+     * Wraps arrays that are already sorted by (origin, destination); the arrays are not copied.
+     */
+    public static CompactEdges of(long[] origins, long[] destinations) {
+        return origins.length == 0 ? EMPTY : new CompactEdges(origins, destinations, false);
+    }
+
+    /**
+     * Inverse of {@link #decode}: packed columns, null when there is no edge (like string_agg over no rows).
+     */
+    public EdgeColumns encode() {
+        if (size() == 0) {
+            return new EdgeColumns(null, null);
+        }
+        return new EdgeColumns(PackedLongs.pack(origins), PackedLongs.pack(destinations));
+    }
+
+    /**
+     * Merges individually sorted parts (e.g. one per fetch chunk), dropping edges returned by more than one part.
+     */
+    public static CompactEdges merge(List<CompactEdges> parts) {
+        CompactEdges merged = EMPTY;
+        for (CompactEdges part : parts) {
+            merged = merged.size() == 0 ? part : _mergeSorted(merged, part);
+        }
+        return merged;
+    }
+
+    public CompactEdges withDelta(boolean delta) {
+        return new CompactEdges(origins, destinations, delta);
+    }
+
+    public int size() {
+        return origins.length;
+    }
+
+    public long origin(int index) {
+        return origins[index];
+    }
+
+    public long destination(int index) {
+        return destinations[index];
+    }
+
+    private static CompactEdges _mergeSorted(CompactEdges a, CompactEdges b) {
+        int capacity = a.size() + b.size();
+        long[] origins = new long[capacity];
+        long[] destinations = new long[capacity];
+
+        int i = 0, j = 0, n = 0;
+        while (i < a.size() || j < b.size()) {
+            long origin;
+            long destination;
+            if (j >= b.size() || (i < a.size() && _compare(a, i, b, j) <= 0)) {
+                origin = a.origins[i];
+                destination = a.destinations[i++];
+            } else {
+                origin = b.origins[j];
+                destination = b.destinations[j++];
+            }
+            if (n > 0 && origins[n - 1] == origin && destinations[n - 1] == destination) {
+                continue;
+            }
+            origins[n] = origin;
+            destinations[n++] = destination;
+        }
+
+        return n == capacity
+                ? new CompactEdges(origins, destinations, false)
+                : new CompactEdges(Arrays.copyOf(origins, n), Arrays.copyOf(destinations, n), false);
+    }
+
+    private static int _compare(CompactEdges a, int i, CompactEdges b, int j) {
+        int byOrigin = Long.compare(a.origins[i], b.origins[j]);
+        return byOrigin != 0 ? byOrigin : Long.compare(a.destinations[i], b.destinations[j]);
+    }
+
+    public static final class Serializer extends JsonSerializer<CompactEdges> {
+
+        @Override
+        public void serialize(CompactEdges edges, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            long[] origins = edges.origins;
+            long[] destinations = edges.destinations;
+
+            if (edges.delta) {
+                long[] encodedOrigins = new long[origins.length];
+                long[] encodedDestinations = new long[destinations.length];
+                long previous = 0;
+                for (int k = 0; k < origins.length; k++) {
+                    encodedOrigins[k] = origins[k] - previous;
+                    encodedDestinations[k] = destinations[k] - origins[k];
+                    previous = origins[k];
+                }
+                origins = encodedOrigins;
+                destinations = encodedDestinations;
+            }
+
+            gen.writeStartObject();
+            gen.writeStringField("encoding", edges.delta ? "delta" : "plain");
+            gen.writeFieldName("origins");
+            gen.writeArray(origins, 0, origins.length);
+            gen.writeFieldName("destinations");
+            gen.writeArray(destinations, 0, destinations.length);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.wizlit.path.model;
+
+/**
+ * Edge endpoints aggregated into two bytea columns of big-endian int8 values (int8send),
+ * both ordered by (origin, destination). Null when no edge matched.
+ *
+ * @param origins      origin point of every edge, 8 bytes each
+ * @param destinations destination point of every edge, 8 bytes each
+ */
+public record EdgeColumns(byte[] origins, byte[] destinations) {
+}
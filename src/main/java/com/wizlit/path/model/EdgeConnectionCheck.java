@@ -0,0 +1,11 @@
+package com.wizlit.path.model;
+
+/**
+ * Result of the fused connectPoints validation, one status column per check.
+ *
+ * @param edgeExists     the edge origin -> destination already exists
+ * @param existingPoints how many of the two points exist
+ * @param backwardPath   destination already reaches origin within the checked depth
+ */
+public record EdgeConnectionCheck(Boolean edgeExists, Long existingPoints, Boolean backwardPath) {
+}
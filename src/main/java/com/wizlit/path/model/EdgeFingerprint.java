@@ -0,0 +1,37 @@
+package com.wizlit.path.model;
+
+/**
+ * Order-independent summary of an edge set: the edge count and the wrapping 64-bit sum of one term per edge.
+ * Computed by the database over the edge table and kept by the edge snapshot, so a reopened snapshot can be
+ * checked against the table by content rather than by count alone. Changes adjust it edge by edge.
+ *
+ * @param edgeCount number of edges
+ * @param checksum  sum of {@link #term} over all edges, modulo 2^64
+ */
+public record EdgeFingerprint(long edgeCount, long checksum) {
+
+    public static final EdgeFingerprint EMPTY = new EdgeFingerprint(0, 0);
+
+    /**
+     * Contribution of one edge; EdgeRepository.fingerprint computes the same product sum in numeric.
+     */
+    public static long term(long origin, long destination) {
+        return origin * destination + origin * 1_000_003L + destination;
+    }
+
+    public static EdgeFingerprint of(CompactEdges edges) {
+        long checksum = 0;
+        for (int i = 0; i < edges.size(); i++) {
+            checksum += term(edges.origin(i), edges.destination(i));
+        }
+        return new EdgeFingerprint(edges.size(), checksum);
+    }
+
+    public EdgeFingerprint plus(long origin, long destination) {
+        return new EdgeFingerprint(edgeCount + 1, checksum + term(origin, destination));
+    }
+
+    public EdgeFingerprint minus(long origin, long destination) {
+        return new EdgeFingerprint(edgeCount - 1, checksum - term(origin, destination));
+    }
+}
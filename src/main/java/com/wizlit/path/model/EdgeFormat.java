@@ -0,0 +1,27 @@
+package com.wizlit.path.model;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+/**
+ * How a project response carries its edges.
+ * OBJECTS: list of {origin, destination} objects (default).
+ * COMPACT: parallel origin/destination arrays sorted by origin.
+ * DELTA: COMPACT with origins delta-encoded and destinations relative to their origin.
+ * NONE: edges are not read at all.
+ */
+public enum EdgeFormat {
+    OBJECTS, COMPACT, DELTA, NONE;
+
+    public static EdgeFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return OBJECTS;
+        }
+        for (EdgeFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new ApiException(ErrorCode.INVALID_OPTION, "edgeFormat", value);
+    }
+}
@@ -0,0 +1,167 @@
+package com.wizlit.path.model;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.model.domain.PointDto;
+import com.wizlit.path.model.domain.ProjectDto;
+
+/**
+ * Sparse fieldset parsed from a fields= parameter, e.g. {@code points(pointId,pointTitle),edges}.
+ *
+ * Groups: projects, points, edges. A group listed without parentheses keeps all of its fields;
+ * a group not listed is left out entirely. Without a fields parameter everything is returned.
+ * Identifiers (projectId, pointId) are always kept.
+ */
+public final class FieldSelection {
+
+    public static final String PROJECTS = "projects";
+    public static final String POINTS = "points";
+    public static final String EDGES = "edges";
+
+    private static final Set<String> PROJECT_FIELDS = Set.of(
+        "projectId", "projectCreatedUser", "projectCreatedTimestamp", "projectUpdatedTimestamp", "pointIds", "allPointIds");
+    private static final Set<String> POINT_FIELDS = Set.of(
+        "pointId", "pointTitle", "pointCreatedUser", "pointSummary", "pointSummaryTimestamp",
+        "pointCreatedTimestamp", "pointUpdatedTimestamp", "memoIdsInOrder");
+    private static final Map<String, Set<String>> GROUPS = Map.of(
+        PROJECTS, PROJECT_FIELDS,
+        POINTS, POINT_FIELDS,
+        EDGES, Set.of());
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    // group -> selected fields (empty set: all fields of the group); null: everything selected
+    private final Map<String, Set<String>> selected;
+
+    private FieldSelection(Map<String, Set<String>> selected) {
+        this.selected = selected;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Map<String, Set<String>> selected = new LinkedHashMap<>();
+        int position = 0;
+        while (position < fields.length()) {
+            int open = fields.indexOf('(', position);
+            int comma = fields.indexOf(',', position);
+            boolean hasFields = open >= 0 && (comma < 0 || open < comma);
+
+            String group;
+            Set<String> groupFields = new LinkedHashSet<>();
+            if (hasFields) {
+                int close = fields.indexOf(')', open);
+                if (close < 0) {
+                    throw new ApiException(ErrorCode.INVALID_OPTION, "fields", fields);
+                }
+                group = fields.substring(position, open).trim();
+                for (String field : fields.substring(open + 1, close).split(",")) {
+                    if (!field.isBlank()) {
+                        groupFields.add(field.trim());
+                    }
+                }
+                position = close + 1;
+                if (position < fields.length() && fields.charAt(position) == ',') {
+                    position++;
+                }
+            } else {
+                int end = comma < 0 ? fields.length() : comma;
+                group = fields.substring(position, end).trim();
+                position = end + 1;
+            }
+
+            Set<String> known = GROUPS.get(group);
+            if (known == null || !known.containsAll(groupFields)) {
+                throw new ApiException(ErrorCode.INVALID_OPTION, "fields", fields);
+            }
+            selected.put(group, groupFields);
+        }
+        return new FieldSelection(selected);
+    }
+
+    public boolean includes(String group) {
+        return selected == null || selected.containsKey(group);
+    }
+
+    public boolean includes(String group, String field) {
+        if (selected == null) {
+            return true;
+        }
+        Set<String> groupFields = selected.get(group);
+        return groupFields != null && (groupFields.isEmpty() || groupFields.contains(field));
+    }
+
+    /**
+     * Whether the point query has to join point_memo.
+     */
+    public boolean needsMemos() {
+        return includes(POINTS, "memoIdsInOrder");
+    }
+
+    /**
+     * Whether the point query has to read the summary text.
+     */
+    public boolean needsSummary() {
+        return includes(POINTS, "pointSummary");
+    }
+
+    public PointDto apply(PointDto point) {
+        if (selected == null) {
+            return point;
+        }
+        if (!includes(POINTS, "pointTitle")) point.setPointTitle(null);
+        if (!includes(POINTS, "pointCreatedUser")) point.setPointCreatedUser(null);
+        if (!includes(POINTS, "pointSummary")) point.setPointSummary(null);
+        if (!includes(POINTS, "pointSummaryTimestamp")) point.setPointSummaryTimestamp(null);
+        if (!includes(POINTS, "pointCreatedTimestamp")) point.setPointCreatedTimestamp(null);
+        if (!includes(POINTS, "pointUpdatedTimestamp")) point.setPointUpdatedTimestamp(null);
+        if (!includes(POINTS, "memoIdsInOrder")) point.setMemoIdsInOrder(null);
+        return point;
+    }
+
+    /**
+     * Narrows a project for output. Returns a copy, since the project may be shared by concurrent reads.
+     */
+    public ProjectDto apply(ProjectDto project) {
+        if (selected == null) {
+            return project;
+        }
+        return ProjectDto.builder()
+            .projectId(project.getProjectId())
+            .projectCreatedUser(includes(PROJECTS, "projectCreatedUser") ? project.getProjectCreatedUser() : null)
+            .projectCreatedTimestamp(includes(PROJECTS, "projectCreatedTimestamp") ? project.getProjectCreatedTimestamp() : null)
+            .projectUpdatedTimestamp(includes(PROJECTS, "projectUpdatedTimestamp") ? project.getProjectUpdatedTimestamp() : null)
+            .pointIds(includes(PROJECTS, "pointIds") ? project.getPointIds() : null)
+            .allPointIds(includes(PROJECTS, "allPointIds") ? project.getAllPointIds() : null)
+            .edges(includes(EDGES) ? project.getEdges() : null)
+            .compactEdges(includes(EDGES) ? project.getCompactEdges() : null)
+            .layout(project.getLayout())
+            .build();
+    }
+
+    /**
+     * Canonical form, used as part of cache and single-flight keys.
+     */
+    @Override
+    public String toString() {
+        if (selected == null) {
+            return "*";
+        }
+        return selected.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> entry.getKey() + entry.getValue().stream().sorted().collect(Collectors.joining(",", "(", ")")))
+            .collect(Collectors.joining(","));
+    }
+}
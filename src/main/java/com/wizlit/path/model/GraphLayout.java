@@ -0,0 +1,12 @@
+package com.wizlit.path.model;
+
+/**
+ * Precomputed layout of a project graph: its points and the edges touching them.
+ *
+ * @param order  every point in a topological order (each edge runs from an earlier to a later point)
+ * @param layers layer of order[i]: length of the longest path reaching it, 0 for points without incoming edges
+ * @param roots  points without incoming edges, in topological order
+ * @param leaves points without outgoing edges, in topological order
+ */
+public record GraphLayout(long[] order, int[] layers, long[] roots, long[] leaves) {
+}
@@ -0,0 +1,14 @@
+package com.wizlit.path.model;
+
+/**
+ * A route found by a path query.
+ *
+ * @param route every point from the origin to the destination, both included
+ * @param cost  sum of the weights of the edges on the route
+ */
+public record GraphPath(long[] route, long cost) {
+
+    public int hops() {
+        return route.length - 1;
+    }
+}
@@ -0,0 +1,11 @@
+package com.wizlit.path.model;
+
+/**
+ * One level of a neighborhood walk.
+ *
+ * @param hop      distance of the level's points from the start point, 0 for the start point itself
+ * @param pointIds points first reached at this hop, ascending
+ * @param edges    edges followed from the previous level, sorted by (origin, destination)
+ */
+public record NeighborhoodLevel(int hop, long[] pointIds, CompactEdges edges) {
+}
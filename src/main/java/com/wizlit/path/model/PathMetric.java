@@ -0,0 +1,25 @@
+package com.wizlit.path.model;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+/**
+ * What a path query minimizes.
+ * SHORTEST: number of edges on the route (default).
+ * CHEAPEST: sum of the edge weights on the route.
+ */
+public enum PathMetric {
+    SHORTEST, CHEAPEST;
+
+    public static PathMetric from(String value) {
+        if (value == null || value.isBlank()) {
+            return SHORTEST;
+        }
+        for (PathMetric metric : values()) {
+            if (metric.name().equalsIgnoreCase(value.trim())) {
+                return metric;
+            }
+        }
+        throw new ApiException(ErrorCode.INVALID_OPTION, "metric", value);
+    }
+}
@@ -0,0 +1,34 @@
+package com.wizlit.path.model;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+/**
+ * Which edges a neighborhood walk follows from a point.
+ * DOWNSTREAM: outgoing edges, towards destinations (default).
+ * UPSTREAM: incoming edges, towards origins.
+ * BOTH: either way.
+ */
+public enum TraversalDirection {
+    DOWNSTREAM, UPSTREAM, BOTH;
+
+    public static TraversalDirection from(String value) {
+        if (value == null || value.isBlank()) {
+            return DOWNSTREAM;
+        }
+        for (TraversalDirection direction : values()) {
+            if (direction.name().equalsIgnoreCase(value.trim())) {
+                return direction;
+            }
+        }
+        throw new ApiException(ErrorCode.INVALID_OPTION, "direction", value);
+    }
+
+    public boolean followsOutgoing() {
+        return this != UPSTREAM;
+    }
+
+    public boolean followsIncoming() {
+        return this != DOWNSTREAM;
+    }
+}
@@ -0,0 +1,13 @@
+package com.wizlit.path.model;
+
+/**
+ * {@link EdgeColumns} with a third column of edge weights, {@link WeightedEdges#UNWEIGHTED} for edges stored without one
+ * (WeightedEdges.decode substitutes the default weight).
+ * All three are big-endian int8 values ordered by (origin, destination). Null when no edge matched.
+ *
+ * @param origins      origin point of every edge, 8 bytes each
+ * @param destinations destination point of every edge, 8 bytes each
+ * @param weights      weight of every edge, 8 bytes each
+ */
+public record WeightedEdgeColumns(byte[] origins, byte[] destinations, byte[] weights) {
+}
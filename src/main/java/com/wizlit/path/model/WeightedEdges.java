@@ -0,0 +1,142 @@
+package com.wizlit.path.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.utils.PackedLongs;
+
+/**
+ * {@link CompactEdges} with a weight per edge: three parallel primitive arrays sorted by (origin, destination).
+ * Read-side input of path queries; never written to a response.
+ */
+public final class WeightedEdges {
+
+    /**
+     * Weight column value of an edge stored without a weight; weights are never negative (edge_weight_check).
+     */
+    public static final long UNWEIGHTED = -1;
+
+    private static final WeightedEdges EMPTY = new WeightedEdges(new long[0], new long[0], new long[0]);
+
+    private final long[] origins;
+    private final long[] destinations;
+    private final long[] weights;
+
+    private WeightedEdges(long[] origins, long[] destinations, long[] weights) {
+        this.origins = origins;
+        this.destinations = destinations;
+        this.weights = weights;
+    }
+
+    public static WeightedEdges empty() {
+        return EMPTY;
+    }
+
+    public static WeightedEdges decode(WeightedEdgeColumns columns) {
+        if (columns == null || columns.origins() == null || columns.destinations() == null || columns.weights() == null) {
+            return EMPTY;
+        }
+        long[] weights = PackedLongs.unpack(columns.weights());
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == UNWEIGHTED) {
+                weights[i] = Edge.DEFAULT_WEIGHT;
+            }
+        }
+        return new WeightedEdges(
+            PackedLongs.unpack(columns.origins()),
+            PackedLongs.unpack(columns.destinations()),
+            weights);
+    }
+
+    /**
+     * Wraps arrays that are already sorted by (origin, destination); the arrays are not copied.
+     */
+    public static WeightedEdges of(long[] origins, long[] destinations, long[] weights) {
+        return origins.length == 0 ? EMPTY : new WeightedEdges(origins, destinations, weights);
+    }
+
+    /**
+     * Merges individually sorted parts (e.g. one per fetch chunk), dropping edges returned by more than one part.
+     */
+    public static WeightedEdges merge(List<WeightedEdges> parts) {
+        WeightedEdges merged = EMPTY;
+        for (WeightedEdges part : parts) {
+            merged = merged.size() == 0 ? part : _mergeSorted(merged, part);
+        }
+        return merged;
+    }
+
+    /**
+     * The edges with both endpoints in the given points, e.g. the points of one project.
+     *
+     * @param sortedPointIds Sorted point IDs
+     */
+    public WeightedEdges within(long[] sortedPointIds) {
+        int kept = 0;
+        long[] keptOrigins = new long[origins.length];
+        long[] keptDestinations = new long[origins.length];
+        long[] keptWeights = new long[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            if (Arrays.binarySearch(sortedPointIds, origins[i]) >= 0 && Arrays.binarySearch(sortedPointIds, destinations[i]) >= 0) {
+                keptOrigins[kept] = origins[i];
+                keptDestinations[kept] = destinations[i];
+                keptWeights[kept++] = weights[i];
+            }
+        }
+        return kept == origins.length
+                ? this
+                : of(Arrays.copyOf(keptOrigins, kept), Arrays.copyOf(keptDestinations, kept), Arrays.copyOf(keptWeights, kept));
+    }
+
+    public int size() {
+        return origins.length;
+    }
+
+    public long origin(int index) {
+        return origins[index];
+    }
+
+    public long destination(int index) {
+        return destinations[index];
+    }
+
+    public long weight(int index) {
+        return weights[index];
+    }
+
+    private static WeightedEdges _mergeSorted(WeightedEdges a, WeightedEdges b) {
+        int capacity = a.size() + b.size();
+        long[] origins = new long[capacity];
+        long[] destinations = new long[capacity];
+        long[] weights = new long[capacity];
+
+        int i = 0, j = 0, n = 0;
+        while (i < a.size() || j < b.size()) {
+            WeightedEdges from;
+            int index;
+            if (j >= b.size() || (i < a.size() && _compare(a, i, b, j) <= 0)) {
+                from = a;
+                index = i++;
+            } else {
+                from = b;
+                index = j++;
+            }
+            if (n > 0 && origins[n - 1] == from.origins[index] && destinations[n - 1] == from.destinations[index]) {
+                continue;
+            }
+            origins[n] = from.origins[index];
+            destinations[n] = from.destinations[index];
+            weights[n++] = from.weights[index];
+        }
+
+        return n == capacity
+                ? new WeightedEdges(origins, destinations, weights)
+                : new WeightedEdges(Arrays.copyOf(origins, n), Arrays.copyOf(destinations, n), Arrays.copyOf(weights, n));
+    }
+
+    private static int _compare(WeightedEdges a, int i, WeightedEdges b, int j) {
+        int byOrigin = Long.compare(a.origins[i], b.origins[j]);
+        return byOrigin != 0 ? byOrigin : Long.compare(a.destinations[i], b.destinations[j]);
+    }
+}
@@ -17,12 +17,18 @@ import lombok.NoArgsConstructor;
 public class EdgeDto {
     private String origin;
     private String destination;
+    private Integer weight; // omitted when the edge has the default weight
+
+    public EdgeDto(String origin, String destination) {
+        this(origin, destination, null);
+    }
 
 // function: convert from Edge
 public static EdgeDto fromEdge(Edge edge) {
     return EdgeDto.builder()
             .origin(edge.getOriginPoint().toString())
             .destination(edge.getDestinationPoint().toString())
+            .weight(edge.getWeight())
             .build();
     }
 }
@@ -0,0 +1,34 @@
+package com.wizlit.path.model.domain;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.NeighborhoodLevel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NeighborhoodDto {
+    private Integer hop;
+    private long[] pointIds;
+    private List<PointDto> points;
+    private CompactEdges edges;
+
+    public static NeighborhoodDto from(NeighborhoodLevel level, List<PointDto> points, FieldSelection fields) {
+        return NeighborhoodDto.builder()
+                .hop(level.hop())
+                .pointIds(level.pointIds())
+                .points(fields.includes(FieldSelection.POINTS) ? points : null)
+                .edges(fields.includes(FieldSelection.EDGES) ? level.edges() : null)
+                .build();
+    }
+}
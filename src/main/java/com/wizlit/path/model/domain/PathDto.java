@@ -0,0 +1,33 @@
+package com.wizlit.path.model.domain;
+
+import com.wizlit.path.model.GraphPath;
+import com.wizlit.path.model.PathMetric;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PathDto {
+    private Long origin;
+    private Long destination;
+    private PathMetric metric;
+    private long[] route; // origin first, destination last
+    private Integer hops;
+    private Long cost; // sum of the edge weights on the route
+
+    public static PathDto from(Long origin, Long destination, PathMetric metric, GraphPath path) {
+        return PathDto.builder()
+                .origin(origin)
+                .destination(destination)
+                .metric(metric)
+                .route(path.route())
+                .hops(path.hops())
+                .cost(path.cost())
+                .build();
+    }
+}
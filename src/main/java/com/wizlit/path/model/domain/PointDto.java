@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.wizlit.path.entity.Point;
+import com.wizlit.path.utils.PackedLongs;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,7 +23,7 @@ public class PointDto {
     private Long pointSummaryTimestamp;
     private Long pointCreatedTimestamp;
     private Long pointUpdatedTimestamp;
-    private List<Long> memoIdsInOrder;
+    private long[] memoIdsInOrder;
 
     public static PointDto from(Point point, List<Long> memoIdsInOrder) {
         return PointDto.builder()
@@ -33,7 +34,7 @@ public class PointDto {
                 .pointSummaryTimestamp(point.getPointSummaryTimestamp() != null ? point.getPointSummaryTimestamp().toEpochMilli() : null)
                 .pointCreatedTimestamp(point.getPointCreatedTimestamp() != null ? point.getPointCreatedTimestamp().toEpochMilli() : null)
                 .pointUpdatedTimestamp(point.getPointUpdatedTimestamp() != null ? point.getPointUpdatedTimestamp().toEpochMilli() : null)
-                .memoIdsInOrder(memoIdsInOrder)
+                .memoIdsInOrder(PackedLongs.of(memoIdsInOrder))
                 .build();
     }
 
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 import com.wizlit.path.entity.Project;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.GraphLayout;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -21,12 +23,14 @@ public class ProjectDto {
     private Long projectCreatedUser;
     private Long projectCreatedTimestamp;
     private Long projectUpdatedTimestamp;
-    private List<Long> pointIds;
-    private List <Long> allPointIds;
+    private long[] pointIds;
+    private long[] allPointIds;
     private List<EdgeDto> edges;
+    private CompactEdges compactEdges;
+    private GraphLayout layout;
 
     // function: convert from Edge and Point using OutputPointDto>fromPoint, OutputEdgeDto>fromPoint
-    public static ProjectDto from(Project project, List<Long> pointIds, List<Long> allPointIds, List<EdgeDto> edges) {
+    public static ProjectDto from(Project project, long[] pointIds, long[] allPointIds, List<EdgeDto> edges) {
         return ProjectDto.builder()
                 .projectId(project.getProjectId())
                 .projectCreatedUser(project.getProjectCreatedUser())
@@ -38,10 +42,21 @@ public class ProjectDto {
                 .build();
     }
 
-    public ProjectDto append(List<Long> allPointIds, List<EdgeDto> edges) {
+    public ProjectDto append(long[] allPointIds, List<EdgeDto> edges) {
         this.allPointIds = allPointIds;
         this.edges = edges;
         return this;
     }
 
+    public ProjectDto appendCompact(long[] allPointIds, CompactEdges compactEdges) {
+        this.allPointIds = allPointIds;
+        this.compactEdges = compactEdges;
+        return this;
+    }
+
+    public ProjectDto appendLayout(GraphLayout layout) {
+        this.layout = layout;
+        return this;
+    }
+
 }
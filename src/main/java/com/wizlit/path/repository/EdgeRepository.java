@@ -1,6 +1,10 @@
 package com.wizlit.path.repository;
 
 import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.EdgeColumns;
+import com.wizlit.path.model.EdgeConnectionCheck;
+import com.wizlit.path.model.EdgeFingerprint;
+import com.wizlit.path.model.WeightedEdgeColumns;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
@@ -8,7 +12,6 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Collection;
 
 @Repository
 public interface EdgeRepository extends ReactiveCrudRepository<Edge, Edge.EdgeId> {
@@ -31,8 +34,88 @@ public interface EdgeRepository extends ReactiveCrudRepository<Edge, Edge.EdgeId
             "WHERE destination_point = :destination_point")
     Mono<Boolean> existsPathWithinDepth(@Param("origin_point") Long originPoint, @Param("destination_point") Long destinationPoint, @Param("depth") int depth);
 
-    @Query("SELECT * FROM edge WHERE origin_point IN (:points) OR destination_point IN (:points)")
-    Flux<Edge> findAllByPointIdIn(@Param("points") Collection<Long> points);
+    /**
+     * Runs every connectPoints precondition in one statement.
+     * The backward-path search walks from destination_point and stops as soon as origin_point is reached.
+     */
+    @Query("WITH RECURSIVE paths AS (" +
+            "  SELECT destination_point, 1 AS depth FROM edge " +
+            "  WHERE origin_point = :destination_point " +
+            "  UNION ALL " +
+            "  SELECT e.destination_point, p.depth + 1 " +
+            "  FROM paths p " +
+            "  INNER JOIN edge e ON p.destination_point = e.origin_point " +
+            "  WHERE p.depth < :depth" +
+            ") " +
+            "SELECT " +
+            "  EXISTS(SELECT 1 FROM edge WHERE origin_point = :origin_point AND destination_point = :destination_point) AS edge_exists, " +
+            "  (SELECT COUNT(*) FROM point WHERE point_id IN (:origin_point, :destination_point)) AS existing_points, " +
+            "  EXISTS(SELECT 1 FROM paths WHERE destination_point = :origin_point) AS backward_path")
+    Mono<EdgeConnectionCheck> checkConnection(@Param("origin_point") Long originPoint, @Param("destination_point") Long destinationPoint, @Param("depth") int depth);
+
+    /**
+     * Inserts the edge unless it already exists; completes empty when it did.
+     * A null weight stores the edge with the default weight.
+     */
+    @Query("INSERT INTO edge (origin_point, destination_point, weight) " +
+            "VALUES (:origin_point, :destination_point, :weight) " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING origin_point, destination_point, weight")
+    Mono<Edge> insertIfAbsent(@Param("origin_point") Long originPoint, @Param("destination_point") Long destinationPoint, @Param("weight") Integer weight);
+
+    @Query("SELECT * FROM edge WHERE origin_point = ANY(:points::bigint[]) OR destination_point = ANY(:points::bigint[])")
+    Flux<Edge> findAllByPointIdIn(@Param("points") Long[] points);
+
+    /**
+     * Same edges as findAllByPointIdIn, aggregated into one row of two int8send-packed bytea columns
+     * ordered by (origin, destination), so no row or entity is materialized per edge.
+     */
+    @Query("SELECT " +
+            "  string_agg(int8send(origin_point), ''::bytea ORDER BY origin_point, destination_point) AS origins, " +
+            "  string_agg(int8send(destination_point), ''::bytea ORDER BY origin_point, destination_point) AS destinations " +
+            "FROM edge WHERE origin_point = ANY(:points::bigint[]) OR destination_point = ANY(:points::bigint[])")
+    Mono<EdgeColumns> findColumnsByPointIdIn(@Param("points") Long[] points);
+
+    /**
+     * Same edges as findColumnsByPointIdIn with a third packed column of weights, -1 (WeightedEdges.UNWEIGHTED) where
+     * the weight is null: string_agg would skip nulls and misalign the columns. The default weight is applied in Java.
+     * Always read from the table: the edge snapshot keeps endpoints only.
+     */
+    @Query("SELECT " +
+            "  string_agg(int8send(origin_point), ''::bytea ORDER BY origin_point, destination_point) AS origins, " +
+            "  string_agg(int8send(destination_point), ''::bytea ORDER BY origin_point, destination_point) AS destinations, " +
+            "  string_agg(int8send(COALESCE(weight, -1)::bigint), ''::bytea ORDER BY origin_point, destination_point) AS weights " +
+            "FROM edge WHERE origin_point = ANY(:points::bigint[]) OR destination_point = ANY(:points::bigint[])")
+    Mono<WeightedEdgeColumns> findWeightedColumnsByPointIdIn(@Param("points") Long[] points);
+
+    /**
+     * Every edge as one row of packed columns, ordered by (origin, destination); used to build the edge snapshot.
+     */
+    @Query("SELECT " +
+            "  string_agg(int8send(origin_point), ''::bytea ORDER BY origin_point, destination_point) AS origins, " +
+            "  string_agg(int8send(destination_point), ''::bytea ORDER BY origin_point, destination_point) AS destinations " +
+            "FROM edge")
+    Mono<EdgeColumns> findAllColumns();
+
+    /**
+     * Edge count and checksum of the whole table (see EdgeFingerprint.term); used to validate a reopened edge snapshot.
+     * The sum is exact in numeric and folded into a signed bigint modulo 2^64, matching Java's wrapping long arithmetic.
+     */
+    @Query("SELECT " +
+            "  COUNT(*) AS edge_count, " +
+            "  ((COALESCE(SUM(origin_point::numeric * destination_point + origin_point::numeric * 1000003 + destination_point), 0) " +
+            "    + 9223372036854775808) % 18446744073709551616 - 9223372036854775808)::bigint AS checksum " +
+            "FROM edge")
+    Mono<EdgeFingerprint> fingerprint();
+
+    /**
+     * Inserts many edges in one statement: origins[i] -> destinations[i] with weights[i] (null: the default weight).
+     * The three arrays are bound once each, so the statement text does not grow with the batch.
+     */
+    @Query("INSERT INTO edge (origin_point, destination_point, weight) " +
+            "SELECT * FROM UNNEST(:origins::bigint[], :destinations::bigint[], :weights::int[]) " +
+            "RETURNING origin_point, destination_point, weight")
+    Flux<Edge> insertAll(@Param("origins") Long[] origins, @Param("destinations") Long[] destinations, @Param("weights") Integer[] weights);
 
     Mono<Void> deleteByOriginPointAndDestinationPoint(Long originPoint, Long destinationPoint);
 }
\ No newline at end of file
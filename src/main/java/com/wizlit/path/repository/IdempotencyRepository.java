@@ -0,0 +1,27 @@
+package com.wizlit.path.repository;
+
+import com.wizlit.path.entity.IdempotencyRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRepository extends ReactiveCrudRepository<IdempotencyRecord, String> {
+    @Query("SELECT * FROM idempotency_record WHERE idempotency_key = :idempotencyKey AND expires_timestamp > :now")
+    Mono<IdempotencyRecord> findValidByKey(String idempotencyKey, Instant now);
+
+    // the key is assigned by the client, so save() would try an UPDATE; insert explicitly instead
+    @Modifying
+    @Query("INSERT INTO idempotency_record (idempotency_key, request_hash, response_data, last_change_time, expires_timestamp) " +
+            "VALUES (:idempotencyKey, :requestHash, :responseData, :lastChangeTime, :expiresTimestamp) " +
+            "ON CONFLICT (idempotency_key) DO NOTHING")
+    Mono<Integer> insertIfAbsent(String idempotencyKey, String requestHash, String responseData, Long lastChangeTime, Instant expiresTimestamp);
+
+    @Modifying
+    @Query("DELETE FROM idempotency_record WHERE expires_timestamp <= :now")
+    Mono<Integer> deleteExpired(Instant now);
+}
@@ -21,7 +21,7 @@ public interface PointRepository extends ReactiveCrudRepository<Point, Long> {
     // Mono<Boolean> existsByPointIdIn(Collection<Long> id);
     Flux<Point> findAllByPointUpdatedTimestampAfter(Long afterUpdateTimestamp);
     
-    @Query("SELECT id FROM point")
+    @Query("SELECT point_id FROM point")
     Flux<Long> findAllPointIds();
     
     @Query("SELECT * FROM point WHERE point_id = :id AND point_updated_timestamp > :updatedAfter")
@@ -39,7 +39,9 @@ public interface PointRepository extends ReactiveCrudRepository<Point, Long> {
 
     /**
      * Fetch full point data including ordered memo IDs.
+     * - IDs are bound as a single bigint[] so the statement text is the same for any list length.
      * - Timestamps returned as epoch milliseconds (bigint).
+     * - Memo IDs returned packed as int8send bytea and read into long[] (PackedLongs).
      * - Filters by updatedAfter if provided; when null, returns all.
      */
     @Query(
@@ -51,15 +53,38 @@ public interface PointRepository extends ReactiveCrudRepository<Point, Long> {
       "  (EXTRACT(EPOCH FROM p.point_summary_timestamp) * 1000)::bigint AS point_summary_timestamp, " +
       "  (EXTRACT(EPOCH FROM p.point_created_timestamp) * 1000)::bigint AS point_created_timestamp, " +
       "  (EXTRACT(EPOCH FROM p.point_updated_timestamp) * 1000)::bigint AS point_updated_timestamp, " +
-      "  COALESCE(ARRAY_AGG(pm.memo_id ORDER BY pm.memo_order) FILTER (WHERE pm.memo_order IS NOT NULL), ARRAY[]::bigint[]) AS memo_ids_in_order " +
+      "  COALESCE(string_agg(int8send(pm.memo_id), ''::bytea ORDER BY pm.memo_order) FILTER (WHERE pm.memo_order IS NOT NULL), ''::bytea) AS memo_ids_in_order " +
       "FROM point p " +
       "LEFT JOIN point_memo pm ON p.point_id = pm.point_id " +
-      "WHERE p.point_id IN (:ids) " +
+      "WHERE p.point_id = ANY(:ids::bigint[]) " +
       "  AND (:updatedAfter IS NULL OR p.point_updated_timestamp > :updatedAfter) " +
       "GROUP BY p.point_id, p.point_title, p.point_created_user, p.point_summary, p.point_summary_timestamp, p.point_created_timestamp, p.point_updated_timestamp"
     )
     Flux<PointDto> findFullPointsByIds(
-        @Param("ids") Collection<Long> ids,
+        @Param("ids") Long[] ids,
         @Param("updatedAfter") @Nullable Instant updatedAfter
     );
+
+    /**
+     * Same as findFullPointsByIds without memo IDs: no point_memo join and no aggregation.
+     * - point_summary is only read when withSummary is true.
+     */
+    @Query(
+      "SELECT " +
+      "  p.point_id                                          AS point_id, " +
+      "  p.point_title                                       AS point_title, " +
+      "  p.point_created_user                                AS point_created_user, " +
+      "  CASE WHEN :withSummary THEN p.point_summary END     AS point_summary, " +
+      "  (EXTRACT(EPOCH FROM p.point_summary_timestamp) * 1000)::bigint AS point_summary_timestamp, " +
+      "  (EXTRACT(EPOCH FROM p.point_created_timestamp) * 1000)::bigint AS point_created_timestamp, " +
+      "  (EXTRACT(EPOCH FROM p.point_updated_timestamp) * 1000)::bigint AS point_updated_timestamp " +
+      "FROM point p " +
+      "WHERE p.point_id = ANY(:ids::bigint[]) " +
+      "  AND (:updatedAfter IS NULL OR p.point_updated_timestamp > :updatedAfter)"
+    )
+    Flux<PointDto> findLitePointsByIds(
+        @Param("ids") Long[] ids,
+        @Param("updatedAfter") @Nullable Instant updatedAfter,
+        @Param("withSummary") boolean withSummary
+    );
 }
\ No newline at end of file
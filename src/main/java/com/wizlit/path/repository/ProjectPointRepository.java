@@ -16,6 +16,11 @@ public interface ProjectPointRepository extends ReactiveCrudRepository<ProjectPo
     @Query("SELECT * FROM project_point WHERE point_id = :pointId")
     Flux<ProjectPoint> findAllByPointId(Long pointId);
     
+    @Query("INSERT INTO project_point (project_id, point_id) " +
+            "SELECT :projectId, UNNEST(:pointIds::bigint[]) " +
+            "RETURNING project_id, point_id")
+    Flux<ProjectPoint> insertAll(Long projectId, Long[] pointIds);
+    
     @Query("DELETE FROM project_point WHERE project_id = :projectId")
     Mono<Void> deleteByProjectId(Long projectId);
     
@@ -14,16 +14,27 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
-import java.util.Collection;
-
 @Repository
 public interface ProjectRepository extends ReactiveCrudRepository<Project, Long> {
     @Query("SELECT project_id, project_created_user, project_created_timestamp, project_updated_timestamp FROM project WHERE project_id = :projectId AND project_updated_timestamp > :updatedAfter")
     Mono<Project> findByProjectIdAndProjectUpdatedTimestampAfter(Long projectId, Instant updatedAfter);
 
+    /**
+     * Bumps project_updated_timestamp of several projects in one statement, never moving it backwards.
+     * Returns the IDs of the projects that exist.
+     */
+    @Query(
+      "UPDATE project SET project_updated_timestamp = GREATEST(project_updated_timestamp, :updatedAt) " +
+      "WHERE project_id = ANY(:ids::bigint[]) " +
+      "RETURNING project_id"
+    )
+    Flux<Long> touchProjects(@Param("ids") Long[] ids, @Param("updatedAt") Instant updatedAt);
+
     /**
      * Fetch full project data including associated point IDs.
+     * - IDs are bound as a single bigint[] so the statement text is the same for any list length.
      * - Timestamps returned as epoch milliseconds (bigint).
+     * - Point IDs returned packed as int8send bytea and read into long[] (PackedLongs).
      * - Filters by updatedAfter if provided; when null, returns all.
      */
     @Query(
@@ -32,15 +43,15 @@ public interface ProjectRepository extends ReactiveCrudRepository<Project, Long>
       "  p.project_created_user                                 AS project_created_user, " +
       "  (EXTRACT(EPOCH FROM p.project_created_timestamp) * 1000)::bigint AS project_created_timestamp, " +
       "  (EXTRACT(EPOCH FROM p.project_updated_timestamp) * 1000)::bigint AS project_updated_timestamp, " +
-      "  COALESCE(ARRAY_AGG(pp.point_id ORDER BY pp.point_id) FILTER (WHERE pp.point_id IS NOT NULL), ARRAY[]::bigint[]) AS point_ids " +
+      "  COALESCE(string_agg(int8send(pp.point_id), ''::bytea ORDER BY pp.point_id) FILTER (WHERE pp.point_id IS NOT NULL), ''::bytea) AS point_ids " +
       "FROM project p " +
       "LEFT JOIN project_point pp ON p.project_id = pp.project_id " +
-      "WHERE p.project_id IN (:ids) " +
+      "WHERE p.project_id = ANY(:ids::bigint[]) " +
       "  AND (:updatedAfter IS NULL OR p.project_updated_timestamp > :updatedAfter) " +
       "GROUP BY p.project_id, p.project_created_user, p.project_created_timestamp, p.project_updated_timestamp"
     )
     Flux<ProjectDto> findFullProjectsByIds(
-        @Param("ids") Collection<Long> ids,
+        @Param("ids") Long[] ids,
         @Param("updatedAfter") @Nullable Instant updatedAfter
     );
 } 
\ No newline at end of file
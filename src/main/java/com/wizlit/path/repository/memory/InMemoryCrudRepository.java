@@ -0,0 +1,126 @@
+package com.wizlit.path.repository.memory;
+
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The generic ReactiveCrudRepository methods of the in-memory engine, built on five table operations.
+ *
+ * Entities with a composite key (edge, project_point) are found by both key columns of their ID class.
+ */
+abstract class InMemoryCrudRepository<T, ID> implements ReactiveCrudRepository<T, ID> {
+
+    protected final InMemoryStore store;
+
+    protected InMemoryCrudRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    protected abstract T _find(ID id);
+
+    protected abstract List<T> _findAll();
+
+    protected abstract T _save(T entity, InMemoryStore.UndoLog undoLog);
+
+    protected abstract void _delete(T entity, InMemoryStore.UndoLog undoLog);
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        @SuppressWarnings("unchecked")
+        Mono<S> saved = store.write(undoLog -> (S) _save(entity, undoLog));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<T> findById(ID id) {
+        return Mono.fromSupplier(() -> _find(id));
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(value -> findById(value));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(ID id) {
+        return findById(id).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(value -> existsById(value));
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(_findAll()));
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<ID> ids) {
+        return Flux.fromIterable(ids).concatMap(id -> findById(id));
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<ID> idStream) {
+        return Flux.from(idStream).concatMap(id -> findById(id));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) _findAll().size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(ID id) {
+        return findById(id).flatMap(this::delete);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<ID> id) {
+        return Mono.from(id).flatMap(value -> deleteById(value));
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        return store.write(undoLog -> {
+            _delete(entity, undoLog);
+            return true;
+        }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends ID> ids) {
+        return Flux.fromIterable(ids).concatMap(id -> deleteById(id)).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        return Flux.fromIterable(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return findAll().concatMap(this::delete).then();
+    }
+}
@@ -0,0 +1,249 @@
+package com.wizlit.path.repository.memory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.EdgeColumns;
+import com.wizlit.path.model.EdgeConnectionCheck;
+import com.wizlit.path.model.EdgeFingerprint;
+import com.wizlit.path.model.WeightedEdgeColumns;
+import com.wizlit.path.model.WeightedEdges;
+import com.wizlit.path.repository.EdgeRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * EdgeRepository of the in-memory engine. Path queries walk the origin index breadth-first,
+ * with the same depth semantics as the recursive CTEs.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryEdgeRepository extends InMemoryCrudRepository<Edge, Edge.EdgeId> implements EdgeRepository {
+
+    public InMemoryEdgeRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected Edge _find(Edge.EdgeId id) {
+        if (id == null || id.getOriginPoint() == null || id.getDestinationPoint() == null) {
+            return null;
+        }
+        return store.edgeExists(id.getOriginPoint(), id.getDestinationPoint())
+            ? _edge(id.getOriginPoint(), id.getDestinationPoint())
+            : null;
+    }
+
+    @Override
+    protected List<Edge> _findAll() {
+        List<Edge> edges = new ArrayList<>();
+        for (Long origin : store.edgeOrigins()) {
+            for (Long destination : store.destinations(origin)) {
+                edges.add(_edge(origin, destination));
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    protected Edge _save(Edge edge, InMemoryStore.UndoLog undoLog) {
+        store.insertEdges(new long[] { edge.getOriginPoint() }, new long[] { edge.getDestinationPoint() }, new Integer[] { edge.getWeight() }, undoLog);
+        return new Edge(edge.getOriginPoint(), edge.getDestinationPoint(), edge.getWeight());
+    }
+
+    @Override
+    protected void _delete(Edge edge, InMemoryStore.UndoLog undoLog) {
+        store.deleteEdge(edge.getOriginPoint(), edge.getDestinationPoint(), undoLog);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(store::edgeCount);
+    }
+
+    @Override
+    public Mono<Edge> findByOriginPointAndDestinationPoint(Long originPoint, Long destinationPoint) {
+        return Mono.fromSupplier(() -> store.edgeExists(originPoint, destinationPoint)
+            ? _edge(originPoint, destinationPoint)
+            : null);
+    }
+
+    @Override
+    public Mono<Boolean> existsPathWithinDepth(Long originPoint, Long destinationPoint, int depth) {
+        return Mono.fromSupplier(() -> _reachable(originPoint, destinationPoint, depth));
+    }
+
+    @Override
+    public Mono<EdgeConnectionCheck> checkConnection(Long originPoint, Long destinationPoint, int depth) {
+        return Mono.fromSupplier(() -> {
+            long existingPoints = (store.pointExists(originPoint) ? 1 : 0)
+                + (!destinationPoint.equals(originPoint) && store.pointExists(destinationPoint) ? 1 : 0);
+            return new EdgeConnectionCheck(
+                store.edgeExists(originPoint, destinationPoint),
+                existingPoints,
+                _reachable(destinationPoint, originPoint, depth));
+        });
+    }
+
+    @Override
+    public Mono<Edge> insertIfAbsent(Long originPoint, Long destinationPoint, Integer weight) {
+        return store.write(undoLog -> store.insertEdgeIfAbsent(originPoint, destinationPoint, weight, undoLog)
+            ? new Edge(originPoint, destinationPoint, weight)
+            : null);
+    }
+
+    @Override
+    public Flux<Edge> findAllByPointIdIn(Long[] points) {
+        return Flux.defer(() -> {
+            long[] sorted = _sortedEdges(points);
+            List<Edge> edges = new ArrayList<>(sorted.length / 2);
+            for (int i = 0; i < sorted.length; i += 2) {
+                edges.add(_edge(sorted[i], sorted[i + 1]));
+            }
+            return Flux.fromIterable(edges);
+        });
+    }
+
+    @Override
+    public Mono<EdgeColumns> findColumnsByPointIdIn(Long[] points) {
+        return Mono.fromSupplier(() -> _columns(_sortedEdges(points)));
+    }
+
+    @Override
+    public Mono<WeightedEdgeColumns> findWeightedColumnsByPointIdIn(Long[] points) {
+        return Mono.fromSupplier(() -> {
+            long[] sorted = _sortedEdges(points);
+            EdgeColumns columns = _columns(sorted);
+            if (columns.origins() == null) {
+                return new WeightedEdgeColumns(null, null, null);
+            }
+            ByteBuffer weights = ByteBuffer.allocate(sorted.length / 2 * Long.BYTES);
+            for (int i = 0; i < sorted.length; i += 2) {
+                Integer weight = store.edgeWeight(sorted[i], sorted[i + 1]);
+                weights.putLong(weight != null ? weight : WeightedEdges.UNWEIGHTED);
+            }
+            return new WeightedEdgeColumns(columns.origins(), columns.destinations(), weights.array());
+        });
+    }
+
+    @Override
+    public Mono<EdgeColumns> findAllColumns() {
+        return Mono.fromSupplier(() -> _columns(_sortedEdges(store.edgeOrigins().toArray(Long[]::new))));
+    }
+
+    @Override
+    public Mono<EdgeFingerprint> fingerprint() {
+        return Mono.fromSupplier(() -> {
+            EdgeFingerprint fingerprint = EdgeFingerprint.EMPTY;
+            for (Long origin : store.edgeOrigins()) {
+                for (Long destination : store.destinations(origin)) {
+                    fingerprint = fingerprint.plus(origin, destination);
+                }
+            }
+            return fingerprint;
+        });
+    }
+
+    @Override
+    public Flux<Edge> insertAll(Long[] origins, Long[] destinations, Integer[] weights) {
+        return store.write(undoLog -> {
+                long[] originIds = Arrays.stream(origins).mapToLong(Long::longValue).toArray();
+                long[] destinationIds = Arrays.stream(destinations).mapToLong(Long::longValue).toArray();
+                store.insertEdges(originIds, destinationIds, weights, undoLog);
+                List<Edge> inserted = new ArrayList<>(originIds.length);
+                for (int i = 0; i < originIds.length; i++) {
+                    inserted.add(new Edge(originIds[i], destinationIds[i], weights[i]));
+                }
+                return inserted;
+            })
+            .flatMapIterable(inserted -> inserted);
+    }
+
+    @Override
+    public Mono<Void> deleteByOriginPointAndDestinationPoint(Long originPoint, Long destinationPoint) {
+        return store.write(undoLog -> {
+            store.deleteEdge(originPoint, destinationPoint, undoLog);
+            return true;
+        }).then();
+    }
+
+    private Edge _edge(long originPoint, long destinationPoint) {
+        return new Edge(originPoint, destinationPoint, store.edgeWeight(originPoint, destinationPoint));
+    }
+
+    /**
+     * Edges touching any of the points as interleaved (origin, destination) pairs, sorted by origin then destination.
+     */
+    private long[] _sortedEdges(Long[] points) {
+        Set<Long> pointSet = new HashSet<>(Arrays.asList(points));
+        List<long[]> edges = new ArrayList<>();
+        for (Long point : pointSet) {
+            for (Long destination : store.destinations(point)) {
+                edges.add(new long[] { point, destination });
+            }
+            for (Long origin : store.origins(point)) {
+                // an edge with both endpoints in the set is already listed from its origin
+                if (!pointSet.contains(origin)) {
+                    edges.add(new long[] { origin, point });
+                }
+            }
+        }
+        edges.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        long[] sorted = new long[edges.size() * 2];
+        for (int i = 0; i < edges.size(); i++) {
+            sorted[2 * i] = edges.get(i)[0];
+            sorted[2 * i + 1] = edges.get(i)[1];
+        }
+        return sorted;
+    }
+
+    private static EdgeColumns _columns(long[] sorted) {
+        if (sorted.length == 0) {
+            // string_agg over no rows is NULL
+            return new EdgeColumns(null, null);
+        }
+        ByteBuffer origins = ByteBuffer.allocate(sorted.length / 2 * Long.BYTES);
+        ByteBuffer destinations = ByteBuffer.allocate(sorted.length / 2 * Long.BYTES);
+        for (int i = 0; i < sorted.length; i += 2) {
+            origins.putLong(sorted[i]);
+            destinations.putLong(sorted[i + 1]);
+        }
+        return new EdgeColumns(origins.array(), destinations.array());
+    }
+
+    /**
+     * Whether target is reachable from start over at most depth edges.
+     */
+    private boolean _reachable(Long start, Long target, int depth) {
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> frontier = new ArrayDeque<>();
+        frontier.add(start);
+        for (int level = 0; level < depth && !frontier.isEmpty(); level++) {
+            Deque<Long> next = new ArrayDeque<>();
+            for (Long point : frontier) {
+                for (Long destination : store.destinations(point)) {
+                    if (destination.equals(target)) {
+                        return true;
+                    }
+                    if (visited.add(destination)) {
+                        next.add(destination);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return false;
+    }
+}
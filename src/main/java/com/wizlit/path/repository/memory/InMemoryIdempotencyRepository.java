@@ -0,0 +1,78 @@
+package com.wizlit.path.repository.memory;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.IdempotencyRecord;
+import com.wizlit.path.repository.IdempotencyRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * IdempotencyRepository of the in-memory engine.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryIdempotencyRepository extends InMemoryCrudRepository<IdempotencyRecord, String>
+        implements IdempotencyRepository {
+
+    public InMemoryIdempotencyRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected IdempotencyRecord _find(String key) {
+        return store.idempotencyRecord(key);
+    }
+
+    @Override
+    protected List<IdempotencyRecord> _findAll() {
+        return store.idempotencyRecords();
+    }
+
+    @Override
+    protected IdempotencyRecord _save(IdempotencyRecord record, InMemoryStore.UndoLog undoLog) {
+        store.saveIdempotencyRecord(record, false, undoLog);
+        return store.idempotencyRecord(record.getIdempotencyKey());
+    }
+
+    @Override
+    protected void _delete(IdempotencyRecord record, InMemoryStore.UndoLog undoLog) {
+        store.deleteIdempotencyRecord(record.getIdempotencyKey(), undoLog);
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> findValidByKey(String idempotencyKey, Instant now) {
+        return findById(idempotencyKey)
+            .filter(record -> record.getExpiresTimestamp() != null && record.getExpiresTimestamp().isAfter(now));
+    }
+
+    @Override
+    public Mono<Integer> insertIfAbsent(String idempotencyKey, String requestHash, String responseData, Long lastChangeTime, Instant expiresTimestamp) {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+            .idempotencyKey(idempotencyKey)
+            .requestHash(requestHash)
+            .responseData(responseData)
+            .lastChangeTime(lastChangeTime)
+            .expiresTimestamp(expiresTimestamp)
+            .build();
+        return store.write(undoLog -> store.saveIdempotencyRecord(record, true, undoLog) ? 1 : 0);
+    }
+
+    @Override
+    public Mono<Integer> deleteExpired(Instant now) {
+        return store.write(undoLog -> {
+            int deleted = 0;
+            for (IdempotencyRecord record : store.idempotencyRecords()) {
+                if (record.getExpiresTimestamp() != null && !record.getExpiresTimestamp().isAfter(now)) {
+                    store.deleteIdempotencyRecord(record.getIdempotencyKey(), undoLog);
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.wizlit.path.repository.memory;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.Point;
+import com.wizlit.path.model.domain.PointDto;
+import com.wizlit.path.repository.PointRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointRepository of the in-memory engine. There is no point_memo table in this engine, so memo lists are empty.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryPointRepository extends InMemoryCrudRepository<Point, Long> implements PointRepository {
+
+    private static final long[] NO_MEMOS = new long[0];
+
+    public InMemoryPointRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected Point _find(Long pointId) {
+        return store.point(pointId);
+    }
+
+    @Override
+    protected List<Point> _findAll() {
+        return store.points();
+    }
+
+    @Override
+    protected Point _save(Point point, InMemoryStore.UndoLog undoLog) {
+        Point saved = store.savePoint(point, undoLog);
+        // R2DBC writes the generated ID back into the saved instance
+        point.setPointId(saved.getPointId());
+        return saved;
+    }
+
+    @Override
+    protected void _delete(Point point, InMemoryStore.UndoLog undoLog) {
+        store.deletePoint(point.getPointId(), undoLog);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long pointId) {
+        return Mono.fromSupplier(() -> store.pointExists(pointId));
+    }
+
+    @Override
+    public Flux<Point> findAllByPointUpdatedTimestampAfter(Long afterUpdateTimestamp) {
+        Instant updatedAfter = Instant.ofEpochMilli(afterUpdateTimestamp);
+        return findAll().filter(point -> _updatedAfter(point, updatedAfter));
+    }
+
+    @Override
+    public Flux<Long> findAllPointIds() {
+        return findAll().map(Point::getPointId);
+    }
+
+    @Override
+    public Mono<Point> findByIdAndPointUpdatedTimestampAfter(Long id, Instant updatedAfter) {
+        return findById(id).filter(point -> _updatedAfter(point, updatedAfter));
+    }
+
+    @Override
+    public Flux<Point> findAllByIdAndPointUpdatedTimestampAfter(Collection<Long> ids, Instant updatedAfter) {
+        return Flux.defer(() -> Flux.fromIterable(ids))
+            .distinct()
+            .mapNotNull(store::point)
+            .filter(point -> _updatedAfter(point, updatedAfter));
+    }
+
+    @Override
+    public Mono<Boolean> existsByIdIn(Collection<Long> ids) {
+        return Mono.fromSupplier(() -> ids.stream().anyMatch(store::pointExists));
+    }
+
+    @Override
+    public Flux<PointDto> findFullPointsByIds(Long[] ids, Instant updatedAfter) {
+        return _pointsByIds(ids, updatedAfter)
+            .map(point -> _toDto(point, true, NO_MEMOS));
+    }
+
+    @Override
+    public Flux<PointDto> findLitePointsByIds(Long[] ids, Instant updatedAfter, boolean withSummary) {
+        return _pointsByIds(ids, updatedAfter)
+            .map(point -> _toDto(point, withSummary, null));
+    }
+
+    /**
+     * Points of the given IDs; a null updatedAfter returns all of them (":updatedAfter IS NULL OR ...").
+     */
+    private Flux<Point> _pointsByIds(Long[] ids, Instant updatedAfter) {
+        return Flux.defer(() -> Flux.fromArray(ids))
+            .distinct()
+            .mapNotNull(store::point)
+            .filter(point -> updatedAfter == null || _updatedAfter(point, updatedAfter));
+    }
+
+    // SQL comparison: a null bound or a null timestamp matches nothing
+    private static boolean _updatedAfter(Point point, Instant updatedAfter) {
+        return point != null && updatedAfter != null && point.getPointUpdatedTimestamp() != null
+            && point.getPointUpdatedTimestamp().isAfter(updatedAfter);
+    }
+
+    private static PointDto _toDto(Point point, boolean withSummary, long[] memoIdsInOrder) {
+        return PointDto.builder()
+            .pointId(point.getPointId())
+            .pointTitle(point.getPointTitle())
+            .pointCreatedUser(point.getPointCreatedUser())
+            .pointSummary(withSummary ? point.getPointSummary() : null)
+            .pointSummaryTimestamp(_millis(point.getPointSummaryTimestamp()))
+            .pointCreatedTimestamp(_millis(point.getPointCreatedTimestamp()))
+            .pointUpdatedTimestamp(_millis(point.getPointUpdatedTimestamp()))
+            .memoIdsInOrder(memoIdsInOrder)
+            .build();
+    }
+
+    private static Long _millis(Instant instant) {
+        return Objects.isNull(instant) ? null : instant.toEpochMilli();
+    }
+}
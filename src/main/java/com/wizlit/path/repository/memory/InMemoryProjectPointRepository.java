@@ -0,0 +1,108 @@
+package com.wizlit.path.repository.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.ProjectPoint;
+import com.wizlit.path.repository.ProjectPointRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ProjectPointRepository of the in-memory engine, served from the project -> points and point -> projects indexes.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryProjectPointRepository extends InMemoryCrudRepository<ProjectPoint, ProjectPoint.ProjectPointId>
+        implements ProjectPointRepository {
+
+    public InMemoryProjectPointRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected ProjectPoint _find(ProjectPoint.ProjectPointId id) {
+        if (id == null || id.getProjectId() == null || id.getPointId() == null) {
+            return null;
+        }
+        return store.projectPointIds(id.getProjectId()).contains(id.getPointId())
+            ? new ProjectPoint(id.getProjectId(), id.getPointId())
+            : null;
+    }
+
+    @Override
+    protected List<ProjectPoint> _findAll() {
+        List<ProjectPoint> projectPoints = new ArrayList<>();
+        for (Long projectId : store.projectIdsWithPoints()) {
+            for (Long pointId : store.projectPointIds(projectId)) {
+                projectPoints.add(new ProjectPoint(projectId, pointId));
+            }
+        }
+        return projectPoints;
+    }
+
+    @Override
+    protected ProjectPoint _save(ProjectPoint projectPoint, InMemoryStore.UndoLog undoLog) {
+        store.insertProjectPoints(projectPoint.getProjectId(), new Long[] { projectPoint.getPointId() }, undoLog);
+        return new ProjectPoint(projectPoint.getProjectId(), projectPoint.getPointId());
+    }
+
+    @Override
+    protected void _delete(ProjectPoint projectPoint, InMemoryStore.UndoLog undoLog) {
+        store.deleteProjectPoint(projectPoint.getProjectId(), projectPoint.getPointId(), undoLog);
+    }
+
+    @Override
+    public Flux<Long> findPointIdsByProjectId(Long projectId) {
+        return Flux.defer(() -> Flux.fromIterable(List.copyOf(store.projectPointIds(projectId))));
+    }
+
+    @Override
+    public Flux<ProjectPoint> findAllByProjectId(Long projectId) {
+        return findPointIdsByProjectId(projectId)
+            .map(pointId -> new ProjectPoint(projectId, pointId));
+    }
+
+    @Override
+    public Flux<ProjectPoint> findAllByPointId(Long pointId) {
+        return Flux.defer(() -> Flux.fromIterable(List.copyOf(store.pointProjectIds(pointId))))
+            .map(projectId -> new ProjectPoint(projectId, pointId));
+    }
+
+    @Override
+    public Flux<ProjectPoint> insertAll(Long projectId, Long[] pointIds) {
+        return store.write(undoLog -> {
+                store.insertProjectPoints(projectId, pointIds, undoLog);
+                List<ProjectPoint> inserted = new ArrayList<>(pointIds.length);
+                for (Long pointId : pointIds) {
+                    inserted.add(new ProjectPoint(projectId, pointId));
+                }
+                return inserted;
+            })
+            .flatMapIterable(inserted -> inserted);
+    }
+
+    @Override
+    public Mono<Void> deleteByProjectId(Long projectId) {
+        return store.write(undoLog -> {
+            for (Long pointId : List.copyOf(store.projectPointIds(projectId))) {
+                store.deleteProjectPoint(projectId, pointId, undoLog);
+            }
+            return true;
+        }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteByPointId(Long pointId) {
+        return store.write(undoLog -> {
+            for (Long projectId : List.copyOf(store.pointProjectIds(pointId))) {
+                store.deleteProjectPoint(projectId, pointId, undoLog);
+            }
+            return true;
+        }).then();
+    }
+}
@@ -0,0 +1,77 @@
+package com.wizlit.path.repository.memory;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.Project;
+import com.wizlit.path.model.domain.ProjectDto;
+import com.wizlit.path.repository.ProjectRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ProjectRepository of the in-memory engine.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryProjectRepository extends InMemoryCrudRepository<Project, Long> implements ProjectRepository {
+
+    public InMemoryProjectRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected Project _find(Long projectId) {
+        return store.project(projectId);
+    }
+
+    @Override
+    protected List<Project> _findAll() {
+        return store.projects();
+    }
+
+    @Override
+    protected Project _save(Project project, InMemoryStore.UndoLog undoLog) {
+        Project saved = store.saveProject(project, undoLog);
+        project.setProjectId(saved.getProjectId());
+        return saved;
+    }
+
+    @Override
+    protected void _delete(Project project, InMemoryStore.UndoLog undoLog) {
+        store.deleteProject(project.getProjectId(), undoLog);
+    }
+
+    @Override
+    public Mono<Project> findByProjectIdAndProjectUpdatedTimestampAfter(Long projectId, Instant updatedAfter) {
+        return findById(projectId)
+            .filter(project -> updatedAfter != null && project.getProjectUpdatedTimestamp() != null
+                && project.getProjectUpdatedTimestamp().isAfter(updatedAfter));
+    }
+
+    @Override
+    public Flux<Long> touchProjects(Long[] ids, Instant updatedAt) {
+        return store.write(undoLog -> store.touchProjects(ids, updatedAt, undoLog))
+            .flatMapIterable(touched -> touched);
+    }
+
+    @Override
+    public Flux<ProjectDto> findFullProjectsByIds(Long[] ids, Instant updatedAfter) {
+        return Flux.defer(() -> Flux.fromArray(ids))
+            .distinct()
+            .mapNotNull(store::project)
+            .filter(project -> updatedAfter == null || (project.getProjectUpdatedTimestamp() != null
+                && project.getProjectUpdatedTimestamp().isAfter(updatedAfter)))
+            .map(project -> ProjectDto.builder()
+                .projectId(project.getProjectId())
+                .projectCreatedUser(project.getProjectCreatedUser())
+                .projectCreatedTimestamp(project.getProjectCreatedTimestamp() != null ? project.getProjectCreatedTimestamp().toEpochMilli() : null)
+                .projectUpdatedTimestamp(project.getProjectUpdatedTimestamp() != null ? project.getProjectUpdatedTimestamp().toEpochMilli() : null)
+                .pointIds(store.projectPointIds(project.getProjectId()).stream().mapToLong(Long::longValue).toArray())
+                .build());
+    }
+}
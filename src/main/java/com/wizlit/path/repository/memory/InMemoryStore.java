@@ -0,0 +1,704 @@
+package com.wizlit.path.repository.memory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import com.wizlit.path.entity.IdempotencyRecord;
+import com.wizlit.path.entity.Point;
+import com.wizlit.path.entity.Project;
+import com.wizlit.path.entity.User;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Tables and secondary indexes of the in-memory storage engine (app.storage.engine=memory).
+ *
+ * Rows live in concurrent maps keyed by ID, with the indexes the SQL engine gets from Postgres kept next to them:
+ * point titles (unique), edges by origin and by destination, points by project and projects by point, user emails.
+ * Reads are lock-free. Writes take one lock, check the constraints of the schema and fail with the same messages
+ * Postgres produces, so the Validator mappings of the managers apply unchanged.
+ *
+ * Inside a transaction of {@link InMemoryTransactionManager} every write records its inverse in an undo log, which
+ * is replayed on rollback. The transaction keeps the write lock from its first write until it completes, so no
+ * other write lands between a write and its undo and a rollback never restores over someone else's change.
+ * Waiting for the lock does not block a thread: a queued write resumes when the holder releases it.
+ * Readers are not isolated: they see uncommitted writes (single-node cache tier).
+ * Stored rows are private copies; entities passed in or handed out can be changed freely by the caller.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryStore {
+
+    private final Deque<LockWaiter> lockWaiters = new ArrayDeque<>(); // guarded by itself, like lockHolder
+    private Object lockHolder;                                          // undo log of a transaction, or one statement
+
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final Map<String, Long> pointIdsByTitle = new ConcurrentHashMap<>();
+    private final AtomicLong pointSequence = new AtomicLong();
+
+    private final Map<Long, NavigableSet<Long>> destinationsByOrigin = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> originsByDestination = new ConcurrentHashMap<>();
+    private final Map<List<Long>, Integer> edgeWeights = new ConcurrentHashMap<>(); // only edges stored with a weight
+    private final AtomicLong edgeCount = new AtomicLong();
+
+    private final Map<Long, Project> projects = new ConcurrentHashMap<>();
+    private final AtomicLong projectSequence = new AtomicLong();
+    private final Map<Long, NavigableSet<Long>> pointIdsByProject = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> projectIdsByPoint = new ConcurrentHashMap<>();
+
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong userSequence = new AtomicLong();
+
+    private final Map<String, IdempotencyRecord> idempotencyRecords = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a change under the write lock, recording its inverse when a transaction is active.
+     * A transaction keeps the lock until {@link #release}; without one the lock is held for this change only.
+     */
+    <T> Mono<T> write(Function<UndoLog, T> change) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .mapNotNull(synchronization -> (UndoLog) synchronization.getResource(this))
+            .onErrorResume(NoTransactionException.class, error -> Mono.empty())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(undoLog -> {
+                if (undoLog.isPresent()) {
+                    return _lock(undoLog.get())
+                        .then(Mono.fromSupplier(() -> change.apply(undoLog.get())));
+                }
+                Object statement = new Object();
+                return Mono.usingWhen(
+                    _lock(statement).thenReturn(statement),
+                    holder -> Mono.fromSupplier(() -> change.apply(null)),
+                    holder -> Mono.fromRunnable(() -> release(holder)));
+            });
+    }
+
+    /**
+     * Undoes the writes of a transaction and releases its write lock.
+     */
+    void rollback(UndoLog undoLog) {
+        try {
+            undoLog.replay();
+        } finally {
+            release(undoLog);
+        }
+    }
+
+    /**
+     * Hands the write lock on to the next waiter once its holder is done; drops any writes of the holder still
+     * waiting, e.g. of a transaction cancelled while queued, so they cannot take the lock afterwards.
+     */
+    void release(Object holder) {
+        List<MonoSink<Void>> granted = new ArrayList<>();
+        synchronized (lockWaiters) {
+            lockWaiters.removeIf(waiter -> waiter.holder() == holder);
+            if (lockHolder != holder) {
+                return;
+            }
+            LockWaiter next = lockWaiters.peek();
+            lockHolder = next != null ? next.holder() : null;
+            // all queued writes of the next holder proceed, a transaction may have several in flight
+            for (Iterator<LockWaiter> waiters = lockWaiters.iterator(); waiters.hasNext(); ) {
+                LockWaiter waiter = waiters.next();
+                if (waiter.holder() == lockHolder) {
+                    granted.add(waiter.sink());
+                    waiters.remove();
+                }
+            }
+        }
+        granted.forEach(MonoSink::success);
+    }
+
+    private Mono<Void> _lock(Object holder) {
+        return Mono.create(sink -> {
+            synchronized (lockWaiters) {
+                if (lockHolder == null || lockHolder == holder) {
+                    lockHolder = holder;
+                } else {
+                    LockWaiter waiter = new LockWaiter(holder, sink);
+                    lockWaiters.add(waiter);
+                    // registered before release() can see the waiter, so a grant never races past it
+                    sink.onCancel(() -> _abandon(waiter));
+                    return;
+                }
+            }
+            sink.success();
+        });
+    }
+
+    /**
+     * A queued write was cancelled (deadline, client disconnect). Still queued, it just leaves the queue; already
+     * granted, the lock went to a subscriber that is gone: a statement has no one else to release it, while a
+     * transaction releases it when it completes.
+     */
+    private void _abandon(LockWaiter waiter) {
+        boolean queued;
+        synchronized (lockWaiters) {
+            queued = lockWaiters.remove(waiter);
+        }
+        if (!queued && !(waiter.holder() instanceof UndoLog)) {
+            release(waiter.holder());
+        }
+    }
+
+    private record LockWaiter(Object holder, MonoSink<Void> sink) {
+    }
+
+    // ---------------------------------------------------------------- point
+
+    Point point(Long pointId) {
+        return pointId != null ? _copy(points.get(pointId)) : null;
+    }
+
+    boolean pointExists(Long pointId) {
+        return pointId != null && points.containsKey(pointId);
+    }
+
+    List<Point> points() {
+        return points.values().stream().map(InMemoryStore::_copy).toList();
+    }
+
+    Point savePoint(Point point, UndoLog undoLog) {
+        if (point.getPointTitle() == null) {
+            throw new DataIntegrityViolationException(
+                "null value in column \"point_title\" of relation \"point\" violates not-null constraint");
+        }
+
+        Point stored = _copy(point);
+        Point previous = stored.getPointId() != null ? points.get(stored.getPointId()) : null;
+        if (stored.getPointId() != null && previous == null) {
+            throw new TransientDataAccessResourceException(
+                "Failed to update table [point]; Row with Id [" + stored.getPointId() + "] does not exist");
+        }
+
+        Long titleOwner = pointIdsByTitle.get(stored.getPointTitle());
+        if (titleOwner != null && !titleOwner.equals(stored.getPointId())) {
+            throw new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"point_point_title_key\"" +
+                " Detail: Key (point_title)=(" + stored.getPointTitle() + ") already exists.");
+        }
+
+        if (previous == null) {
+            stored.setPointId(pointSequence.incrementAndGet());
+            if (stored.getPointCreatedTimestamp() == null) stored.setPointCreatedTimestamp(Instant.now());
+            if (stored.getPointUpdatedTimestamp() == null) stored.setPointUpdatedTimestamp(Instant.now());
+        } else {
+            pointIdsByTitle.remove(previous.getPointTitle(), previous.getPointId());
+        }
+        points.put(stored.getPointId(), stored);
+        pointIdsByTitle.put(stored.getPointTitle(), stored.getPointId());
+
+        UndoLog.record(undoLog, () -> {
+            pointIdsByTitle.remove(stored.getPointTitle(), stored.getPointId());
+            if (previous == null) {
+                points.remove(stored.getPointId());
+            } else {
+                points.put(previous.getPointId(), previous);
+                pointIdsByTitle.put(previous.getPointTitle(), previous.getPointId());
+            }
+        });
+        return _copy(stored);
+    }
+
+    void deletePoint(Long pointId, UndoLog undoLog) {
+        Point previous = points.get(pointId);
+        if (previous == null) {
+            return;
+        }
+        if (!_view(destinationsByOrigin, pointId).isEmpty()) {
+            throw new DataIntegrityViolationException(
+                "update or delete on table \"point\" violates foreign key constraint \"edge_origin_point_fkey\" on table \"edge\"");
+        }
+        if (!_view(originsByDestination, pointId).isEmpty()) {
+            throw new DataIntegrityViolationException(
+                "update or delete on table \"point\" violates foreign key constraint \"edge_destination_point_fkey\" on table \"edge\"");
+        }
+
+        // project membership goes with the point (ON DELETE CASCADE)
+        for (Long projectId : List.copyOf(_view(projectIdsByPoint, pointId))) {
+            deleteProjectPoint(projectId, pointId, undoLog);
+        }
+        points.remove(pointId);
+        pointIdsByTitle.remove(previous.getPointTitle(), pointId);
+
+        UndoLog.record(undoLog, () -> {
+            points.put(pointId, previous);
+            pointIdsByTitle.put(previous.getPointTitle(), pointId);
+        });
+    }
+
+    // ---------------------------------------------------------------- edge
+
+    boolean edgeExists(long originPointId, long destinationPointId) {
+        return _view(destinationsByOrigin, originPointId).contains(destinationPointId);
+    }
+
+    /**
+     * Destinations of the edges leaving a point, ascending. Read-only view.
+     */
+    NavigableSet<Long> destinations(long originPointId) {
+        return Collections.unmodifiableNavigableSet(_view(destinationsByOrigin, originPointId));
+    }
+
+    /**
+     * Origins of the edges entering a point, ascending. Read-only view.
+     */
+    NavigableSet<Long> origins(long destinationPointId) {
+        return Collections.unmodifiableNavigableSet(_view(originsByDestination, destinationPointId));
+    }
+
+    /**
+     * Weight the edge was stored with, null for the default weight.
+     */
+    Integer edgeWeight(long originPointId, long destinationPointId) {
+        return edgeWeights.get(List.of(originPointId, destinationPointId));
+    }
+
+    Collection<Long> edgeOrigins() {
+        return destinationsByOrigin.keySet();
+    }
+
+    long edgeCount() {
+        return edgeCount.get();
+    }
+
+    /**
+     * Inserts all edges or none: every row is checked before the first one is written, like one INSERT statement.
+     */
+    void insertEdges(long[] origins, long[] destinations, Integer[] weights, UndoLog undoLog) {
+        Set<List<Long>> inserted = new HashSet<>();
+        for (int i = 0; i < origins.length; i++) {
+            _checkEdgeEndpoints(origins[i], destinations[i]);
+            _checkEdgeWeight(weights != null ? weights[i] : null);
+            if (edgeExists(origins[i], destinations[i]) || !inserted.add(List.of(origins[i], destinations[i]))) {
+                throw new DataIntegrityViolationException(
+                    "duplicate key value violates unique constraint \"unique_edge\"" +
+                    " Detail: Key (origin_point, destination_point)=(" + origins[i] + ", " + destinations[i] + ") already exists.");
+            }
+        }
+        for (int i = 0; i < origins.length; i++) {
+            _putEdge(origins[i], destinations[i], weights != null ? weights[i] : null, undoLog);
+        }
+    }
+
+    boolean insertEdgeIfAbsent(long originPointId, long destinationPointId, Integer weight, UndoLog undoLog) {
+        _checkEdgeEndpoints(originPointId, destinationPointId);
+        _checkEdgeWeight(weight);
+        if (edgeExists(originPointId, destinationPointId)) {
+            return false;
+        }
+        _putEdge(originPointId, destinationPointId, weight, undoLog);
+        return true;
+    }
+
+    void deleteEdge(long originPointId, long destinationPointId, UndoLog undoLog) {
+        if (!_view(destinationsByOrigin, originPointId).remove(destinationPointId)) {
+            return;
+        }
+        _view(originsByDestination, destinationPointId).remove(originPointId);
+        _prune(destinationsByOrigin, originPointId);
+        _prune(originsByDestination, destinationPointId);
+        Integer weight = edgeWeights.remove(List.of(originPointId, destinationPointId));
+        edgeCount.decrementAndGet();
+
+        UndoLog.record(undoLog, () -> _putEdge(originPointId, destinationPointId, weight, null));
+    }
+
+    private void _checkEdgeEndpoints(long originPointId, long destinationPointId) {
+        if (!points.containsKey(originPointId)) {
+            throw new DataIntegrityViolationException(
+                "insert or update on table \"edge\" violates foreign key constraint \"edge_origin_point_fkey\"" +
+                " Detail: Key (origin_point)=(" + originPointId + ") is not present in table \"point\".");
+        }
+        if (!points.containsKey(destinationPointId)) {
+            throw new DataIntegrityViolationException(
+                "insert or update on table \"edge\" violates foreign key constraint \"edge_destination_point_fkey\"" +
+                " Detail: Key (destination_point)=(" + destinationPointId + ") is not present in table \"point\".");
+        }
+    }
+
+    private static void _checkEdgeWeight(Integer weight) {
+        if (weight != null && weight < 0) {
+            throw new DataIntegrityViolationException(
+                "new row for relation \"edge\" violates check constraint \"edge_weight_check\"");
+        }
+    }
+
+    private void _putEdge(long originPointId, long destinationPointId, Integer weight, UndoLog undoLog) {
+        _index(destinationsByOrigin, originPointId).add(destinationPointId);
+        _index(originsByDestination, destinationPointId).add(originPointId);
+        if (weight != null) {
+            edgeWeights.put(List.of(originPointId, destinationPointId), weight);
+        }
+        edgeCount.incrementAndGet();
+
+        UndoLog.record(undoLog, () -> deleteEdge(originPointId, destinationPointId, null));
+    }
+
+    // ---------------------------------------------------------------- project
+
+    Project project(Long projectId) {
+        return projectId != null ? _copy(projects.get(projectId)) : null;
+    }
+
+    List<Project> projects() {
+        return projects.values().stream().map(InMemoryStore::_copy).toList();
+    }
+
+    Project saveProject(Project project, UndoLog undoLog) {
+        Project stored = _copy(project);
+        Project previous = stored.getProjectId() != null ? projects.get(stored.getProjectId()) : null;
+        if (stored.getProjectId() != null && previous == null) {
+            throw new TransientDataAccessResourceException(
+                "Failed to update table [project]; Row with Id [" + stored.getProjectId() + "] does not exist");
+        }
+        if (previous == null) {
+            stored.setProjectId(projectSequence.incrementAndGet());
+            if (stored.getProjectCreatedTimestamp() == null) stored.setProjectCreatedTimestamp(Instant.now());
+            if (stored.getProjectUpdatedTimestamp() == null) stored.setProjectUpdatedTimestamp(Instant.now());
+        }
+        projects.put(stored.getProjectId(), stored);
+
+        UndoLog.record(undoLog, () -> {
+            if (previous == null) {
+                projects.remove(stored.getProjectId());
+            } else {
+                projects.put(previous.getProjectId(), previous);
+            }
+        });
+        return _copy(stored);
+    }
+
+    void deleteProject(Long projectId, UndoLog undoLog) {
+        Project previous = projects.get(projectId);
+        if (previous == null) {
+            return;
+        }
+        if (!_view(pointIdsByProject, projectId).isEmpty()) {
+            throw new DataIntegrityViolationException(
+                "update or delete on table \"project\" violates foreign key constraint \"project_point_project_id_fkey\" on table \"project_point\"");
+        }
+        projects.remove(projectId);
+        UndoLog.record(undoLog, () -> projects.put(projectId, previous));
+    }
+
+    /**
+     * Moves project_updated_timestamp forward (never backwards) and returns the IDs of the projects that exist.
+     */
+    List<Long> touchProjects(Long[] projectIds, Instant updatedAt, UndoLog undoLog) {
+        List<Long> touched = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            Project previous = projects.get(projectId);
+            if (previous == null) {
+                continue;
+            }
+            Project stored = _copy(previous);
+            if (stored.getProjectUpdatedTimestamp() == null || stored.getProjectUpdatedTimestamp().isBefore(updatedAt)) {
+                stored.setProjectUpdatedTimestamp(updatedAt);
+            }
+            projects.put(projectId, stored);
+            UndoLog.record(undoLog, () -> projects.put(projectId, previous));
+            touched.add(projectId);
+        }
+        return touched;
+    }
+
+    // ---------------------------------------------------------------- project_point
+
+    /**
+     * Point IDs of a project, ascending. Read-only view.
+     */
+    NavigableSet<Long> projectPointIds(Long projectId) {
+        return Collections.unmodifiableNavigableSet(_view(pointIdsByProject, projectId));
+    }
+
+    /**
+     * Project IDs of a point, ascending. Read-only view.
+     */
+    NavigableSet<Long> pointProjectIds(Long pointId) {
+        return Collections.unmodifiableNavigableSet(_view(projectIdsByPoint, pointId));
+    }
+
+    Collection<Long> projectIdsWithPoints() {
+        return pointIdsByProject.keySet();
+    }
+
+    void insertProjectPoints(Long projectId, Long[] pointIds, UndoLog undoLog) {
+        if (!projects.containsKey(projectId)) {
+            throw new DataIntegrityViolationException(
+                "insert or update on table \"project_point\" violates foreign key constraint \"project_point_project_id_fkey\"" +
+                " Detail: Key (project_id)=(" + projectId + ") is not present in table \"project\".");
+        }
+        List<Long> seen = new ArrayList<>();
+        for (Long pointId : pointIds) {
+            if (!points.containsKey(pointId)) {
+                throw new DataIntegrityViolationException(
+                    "insert or update on table \"project_point\" violates foreign key constraint \"project_point_point_id_fkey\"" +
+                    " Detail: Key (point_id)=(" + pointId + ") is not present in table \"point\".");
+            }
+            if (_view(pointIdsByProject, projectId).contains(pointId) || seen.contains(pointId)) {
+                throw new DataIntegrityViolationException(
+                    "duplicate key value violates unique constraint \"project_point_pkey\"" +
+                    " Detail: Key (project_id, point_id)=(" + projectId + ", " + pointId + ") already exists.");
+            }
+            seen.add(pointId);
+        }
+        for (Long pointId : pointIds) {
+            _index(pointIdsByProject, projectId).add(pointId);
+            _index(projectIdsByPoint, pointId).add(projectId);
+            UndoLog.record(undoLog, () -> deleteProjectPoint(projectId, pointId, null));
+        }
+    }
+
+    void deleteProjectPoint(Long projectId, Long pointId, UndoLog undoLog) {
+        if (!_view(pointIdsByProject, projectId).remove(pointId)) {
+            return;
+        }
+        _view(projectIdsByPoint, pointId).remove(projectId);
+        _prune(pointIdsByProject, projectId);
+        _prune(projectIdsByPoint, pointId);
+
+        UndoLog.record(undoLog, () -> insertProjectPoints(projectId, new Long[] { pointId }, null));
+    }
+
+    // ---------------------------------------------------------------- path_user
+
+    User user(Long userId) {
+        return userId != null ? _copy(users.get(userId)) : null;
+    }
+
+    User userByEmail(String email) {
+        Long userId = email != null ? userIdsByEmail.get(email) : null;
+        return user(userId);
+    }
+
+    List<User> users() {
+        return users.values().stream().map(InMemoryStore::_copy).toList();
+    }
+
+    User saveUser(User user, UndoLog undoLog) {
+        User stored = _copy(user);
+        User previous = stored.getUserId() != null ? users.get(stored.getUserId()) : null;
+        if (stored.getUserId() != null && previous == null) {
+            throw new TransientDataAccessResourceException(
+                "Failed to update table [path_user]; Row with Id [" + stored.getUserId() + "] does not exist");
+        }
+        Long emailOwner = stored.getUserEmail() != null ? userIdsByEmail.get(stored.getUserEmail()) : null;
+        if (emailOwner != null && !emailOwner.equals(stored.getUserId())) {
+            throw new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"path_user_user_email_key\"" +
+                " Detail: Key (user_email)=(" + stored.getUserEmail() + ") already exists.");
+        }
+
+        if (previous == null) {
+            stored.setUserId(userSequence.incrementAndGet());
+            if (stored.getUserCreatedTimestamp() == null) stored.setUserCreatedTimestamp(Instant.now());
+            if (stored.getUserUpdatedTimestamp() == null) stored.setUserUpdatedTimestamp(Instant.now());
+        } else if (previous.getUserEmail() != null) {
+            userIdsByEmail.remove(previous.getUserEmail(), previous.getUserId());
+        }
+        users.put(stored.getUserId(), stored);
+        if (stored.getUserEmail() != null) {
+            userIdsByEmail.put(stored.getUserEmail(), stored.getUserId());
+        }
+
+        UndoLog.record(undoLog, () -> {
+            if (stored.getUserEmail() != null) {
+                userIdsByEmail.remove(stored.getUserEmail(), stored.getUserId());
+            }
+            if (previous == null) {
+                users.remove(stored.getUserId());
+            } else {
+                users.put(previous.getUserId(), previous);
+                if (previous.getUserEmail() != null) {
+                    userIdsByEmail.put(previous.getUserEmail(), previous.getUserId());
+                }
+            }
+        });
+        return _copy(stored);
+    }
+
+    void deleteUser(Long userId, UndoLog undoLog) {
+        User previous = users.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        if (previous.getUserEmail() != null) {
+            userIdsByEmail.remove(previous.getUserEmail(), userId);
+        }
+        UndoLog.record(undoLog, () -> {
+            users.put(userId, previous);
+            if (previous.getUserEmail() != null) {
+                userIdsByEmail.put(previous.getUserEmail(), userId);
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- idempotency_record
+
+    IdempotencyRecord idempotencyRecord(String key) {
+        return key != null ? _copy(idempotencyRecords.get(key)) : null;
+    }
+
+    List<IdempotencyRecord> idempotencyRecords() {
+        return idempotencyRecords.values().stream().map(InMemoryStore::_copy).toList();
+    }
+
+    /**
+     * Stores the record; with onlyIfAbsent an existing key is left untouched (ON CONFLICT DO NOTHING).
+     *
+     * @return whether the record was written
+     */
+    boolean saveIdempotencyRecord(IdempotencyRecord record, boolean onlyIfAbsent, UndoLog undoLog) {
+        IdempotencyRecord previous = idempotencyRecords.get(record.getIdempotencyKey());
+        if (onlyIfAbsent && previous != null) {
+            return false;
+        }
+        IdempotencyRecord stored = _copy(record);
+        idempotencyRecords.put(stored.getIdempotencyKey(), stored);
+        UndoLog.record(undoLog, () -> {
+            if (previous == null) {
+                idempotencyRecords.remove(stored.getIdempotencyKey());
+            } else {
+                idempotencyRecords.put(previous.getIdempotencyKey(), previous);
+            }
+        });
+        return true;
+    }
+
+    void deleteIdempotencyRecord(String key, UndoLog undoLog) {
+        IdempotencyRecord previous = idempotencyRecords.remove(key);
+        if (previous != null) {
+            UndoLog.record(undoLog, () -> idempotencyRecords.put(key, previous));
+        }
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private static NavigableSet<Long> _index(Map<Long, NavigableSet<Long>> index, Long key) {
+        return index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>());
+    }
+
+    // read side: never creates an entry, so lookups of unknown keys leave the index untouched
+    private static NavigableSet<Long> _view(Map<Long, NavigableSet<Long>> index, Long key) {
+        NavigableSet<Long> values = index.get(key);
+        return values != null ? values : Collections.emptyNavigableSet();
+    }
+
+    private static void _prune(Map<Long, NavigableSet<Long>> index, Long key) {
+        index.computeIfPresent(key, (k, values) -> values.isEmpty() ? null : values);
+    }
+
+    private static Point _copy(Point point) {
+        if (point == null) {
+            return null;
+        }
+        return Point.builder()
+            .pointId(point.getPointId())
+            .pointTitle(point.getPointTitle())
+            .pointCreatedUser(point.getPointCreatedUser())
+            .pointSummary(point.getPointSummary())
+            .pointSummaryTimestamp(point.getPointSummaryTimestamp())
+            .pointCreatedTimestamp(point.getPointCreatedTimestamp())
+            .pointUpdatedTimestamp(point.getPointUpdatedTimestamp())
+            .build();
+    }
+
+    private static Project _copy(Project project) {
+        if (project == null) {
+            return null;
+        }
+        return Project.builder()
+            .projectId(project.getProjectId())
+            .projectCreatedUser(project.getProjectCreatedUser())
+            .projectCreatedTimestamp(project.getProjectCreatedTimestamp())
+            .projectUpdatedTimestamp(project.getProjectUpdatedTimestamp())
+            .build();
+    }
+
+    private static User _copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        return User.builder()
+            .userId(user.getUserId())
+            .userName(user.getUserName())
+            .userEmail(user.getUserEmail())
+            .userAvatar(user.getUserAvatar())
+            .userCreatedTimestamp(user.getUserCreatedTimestamp())
+            .userUpdatedTimestamp(user.getUserUpdatedTimestamp())
+            .build();
+    }
+
+    private static IdempotencyRecord _copy(IdempotencyRecord record) {
+        if (record == null) {
+            return null;
+        }
+        return IdempotencyRecord.builder()
+            .idempotencyKey(record.getIdempotencyKey())
+            .requestHash(record.getRequestHash())
+            .responseData(record.getResponseData())
+            .lastChangeTime(record.getLastChangeTime())
+            .expiresTimestamp(record.getExpiresTimestamp())
+            .build();
+    }
+
+    /**
+     * Inverse operations of the writes of one transaction, replayed newest first on rollback.
+     */
+    static final class UndoLog {
+
+        private final Deque<Runnable> inverses = new ArrayDeque<>();
+        private volatile boolean rollbackOnly;
+
+        static void record(UndoLog undoLog, Runnable inverse) {
+            if (undoLog != null) {
+                undoLog.inverses.push(Objects.requireNonNull(inverse));
+            }
+        }
+
+        void clear() {
+            inverses.clear();
+        }
+
+        void markRollbackOnly() {
+            rollbackOnly = true;
+        }
+
+        boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+
+        private void replay() {
+            while (!inverses.isEmpty()) {
+                inverses.pop().run();
+            }
+        }
+    }
+}
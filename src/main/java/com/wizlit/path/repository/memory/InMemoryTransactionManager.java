@@ -0,0 +1,113 @@
+package com.wizlit.path.repository.memory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Transactions of the in-memory storage engine: an undo log bound to the reactive transaction context.
+ *
+ * Commit drops the log, rollback replays it (see {@link InMemoryStore#write}); both release the store's write lock,
+ * which the transaction holds from its first write on. This keeps @Transactional services
+ * and the batch rollback of ProjectMutationSequencer working the same way on both engines.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryTransactionManager extends AbstractReactiveTransactionManager {
+
+    private final InMemoryStore store;
+
+    @Override
+    protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+        return new MemoryTransaction((InMemoryStore.UndoLog) synchronizationManager.getResource(store));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((MemoryTransaction) transaction).undoLog != null;
+    }
+
+    @Override
+    protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+            TransactionDefinition definition) {
+        return Mono.fromRunnable(() -> {
+            MemoryTransaction memoryTransaction = (MemoryTransaction) transaction;
+            memoryTransaction.undoLog = new InMemoryStore.UndoLog();
+            synchronizationManager.bindResource(store, memoryTransaction.undoLog);
+        });
+    }
+
+    @Override
+    protected Mono<Object> doSuspend(TransactionSynchronizationManager synchronizationManager, Object transaction) {
+        return Mono.fromSupplier(() -> {
+            ((MemoryTransaction) transaction).undoLog = null;
+            return synchronizationManager.unbindResource(store);
+        });
+    }
+
+    @Override
+    protected Mono<Void> doResume(TransactionSynchronizationManager synchronizationManager, Object transaction,
+            Object suspendedResources) {
+        return Mono.fromRunnable(() -> synchronizationManager.bindResource(store, suspendedResources));
+    }
+
+    @Override
+    protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+            GenericReactiveTransaction status) {
+        MemoryTransaction transaction = (MemoryTransaction) status.getTransaction();
+        if (transaction.undoLog.isRollbackOnly()) {
+            // a participating scope failed; none of the writes may stay
+            return doRollback(synchronizationManager, status)
+                .then(Mono.error(new UnexpectedRollbackException("Transaction rolled back because it has been marked as rollback-only")));
+        }
+        return Mono.fromRunnable(() -> {
+            transaction.undoLog.clear();
+            store.release(transaction.undoLog);
+        });
+    }
+
+    @Override
+    protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+            GenericReactiveTransaction status) {
+        return Mono.fromRunnable(() -> store.rollback(((MemoryTransaction) status.getTransaction()).undoLog));
+    }
+
+    @Override
+    protected Mono<Void> doSetRollbackOnly(TransactionSynchronizationManager synchronizationManager,
+            GenericReactiveTransaction status) {
+        // participating scopes share the undo log, so the mark is visible to the scope that commits
+        return Mono.fromRunnable(() -> ((MemoryTransaction) status.getTransaction()).undoLog.markRollbackOnly());
+    }
+
+    @Override
+    protected Mono<Void> doCleanupAfterCompletion(TransactionSynchronizationManager synchronizationManager,
+            Object transaction) {
+        return Mono.fromRunnable(() -> {
+            MemoryTransaction memoryTransaction = (MemoryTransaction) transaction;
+            if (memoryTransaction.undoLog != null) {
+                // no-op after commit or rollback; drops writes still queued for the lock
+                store.release(memoryTransaction.undoLog);
+            }
+            if (synchronizationManager.hasResource(store)) {
+                synchronizationManager.unbindResource(store);
+            }
+        });
+    }
+
+    private static final class MemoryTransaction {
+        private InMemoryStore.UndoLog undoLog;
+
+        MemoryTransaction(InMemoryStore.UndoLog undoLog) {
+            this.undoLog = undoLog;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.wizlit.path.repository.memory;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.wizlit.path.entity.User;
+import com.wizlit.path.repository.UserRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * UserRepository of the in-memory engine, with the email index standing in for the unique user_email key.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class InMemoryUserRepository extends InMemoryCrudRepository<User, Long> implements UserRepository {
+
+    public InMemoryUserRepository(InMemoryStore store) {
+        super(store);
+    }
+
+    @Override
+    protected User _find(Long userId) {
+        return store.user(userId);
+    }
+
+    @Override
+    protected List<User> _findAll() {
+        return store.users();
+    }
+
+    @Override
+    protected User _save(User user, InMemoryStore.UndoLog undoLog) {
+        User saved = store.saveUser(user, undoLog);
+        user.setUserId(saved.getUserId());
+        return saved;
+    }
+
+    @Override
+    protected void _delete(User user, InMemoryStore.UndoLog undoLog) {
+        store.deleteUser(user.getUserId(), undoLog);
+    }
+
+    @Override
+    public Mono<User> findByUserEmail(String email) {
+        return Mono.fromSupplier(() -> store.userByEmail(email));
+    }
+
+    @Override
+    public Flux<User> findByUserIdInAndUserUpdatedTimestampAfter(List<Long> userIds, Instant updatedAfter) {
+        return findAllById(userIds)
+            .filter(user -> updatedAfter != null && user.getUserUpdatedTimestamp() != null
+                && user.getUserUpdatedTimestamp().isAfter(updatedAfter));
+    }
+}
@@ -0,0 +1,11 @@
+package com.wizlit.path.service;
+
+import java.util.function.Supplier;
+
+import com.wizlit.path.model.ResponseWithChange;
+
+import reactor.core.publisher.Mono;
+
+public interface IdempotencyService {
+    <T> Mono<ResponseWithChange<T>> execute(String scope, String idempotencyKey, Object request, Class<T> dataType, Supplier<Mono<ResponseWithChange<T>>> action);
+}
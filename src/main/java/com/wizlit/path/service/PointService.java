@@ -3,7 +3,12 @@ package com.wizlit.path.service;
 import java.time.Instant;
 import java.util.List;
 
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.PathMetric;
+import com.wizlit.path.model.TraversalDirection;
 import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.NeighborhoodDto;
+import com.wizlit.path.model.domain.PathDto;
 import com.wizlit.path.model.domain.PointDto;
 import com.wizlit.path.model.domain.UserDto;
 
@@ -19,10 +24,13 @@ public interface PointService {
     // Mono<Boolean> validatePointsExist(Long... pointIds);
     // Flux<Long> findMemoIdsByPointId(Long pointId);
     Mono<PointDto> getPoint(Long id, Instant updatedAfter);
-    Flux<PointDto> listPointsByIds(List<Long> ids, Instant updatedAfter);
+    Flux<PointDto> listPointsByIds(long[] ids, Instant updatedAfter);
+    Flux<PointDto> listPointsByIds(long[] ids, Instant updatedAfter, FieldSelection fields);
     Mono<PointDto> createPoint(Long projectId, UserDto user, String title, Long originPointId, Long destinationPointId);
-    Mono<EdgeDto> connectPoints(Long originPointId, Long destinationPointId);
+    Mono<EdgeDto> connectPoints(Long originPointId, Long destinationPointId, Integer weight);
     Mono<Void> disconnectPoints(Long originPointId, Long destinationPointId);
+    Mono<PathDto> findPath(Long projectId, Long originPointId, Long destinationPointId, PathMetric metric);
+    Flux<NeighborhoodDto> streamNeighborhood(Long pointId, TraversalDirection direction, int hops, FieldSelection fields);
     Mono<PointDto> updatePoint(Long pointId, String title);
     Mono<Void> deletePoint(Long pointId);
     Mono<Void> moveMemo(Long currentPointId, Long memoId, Long newPointId);
@@ -1,8 +1,11 @@
 package com.wizlit.path.service;
 
+import com.wizlit.path.model.EdgeFormat;
 import com.wizlit.path.model.domain.ProjectDto;
 import reactor.core.publisher.Mono;
 
 public interface ProjectService {
     Mono<ProjectDto> getProjectById(Long projectId);
+    Mono<ProjectDto> getProjectById(Long projectId, EdgeFormat edgeFormat);
+    Mono<ProjectDto> getProjectById(Long projectId, EdgeFormat edgeFormat, boolean withLayout);
 } 
\ No newline at end of file
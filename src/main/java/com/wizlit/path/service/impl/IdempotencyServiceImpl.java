@@ -0,0 +1,165 @@
+package com.wizlit.path.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wizlit.path.entity.IdempotencyRecord;
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.model.ResponseWithChange;
+import com.wizlit.path.service.IdempotencyService;
+import com.wizlit.path.service.manager.IdempotencyManager;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    /**
+     * Service 규칙:
+     * 1. repository 직접 호출 X (helper 를 통해서만 호출 - 동일한 helper 가 다른 곳에서도 쓰여도 됨)
+     */
+
+    private final IdempotencyManager idempotencyManager;
+    private final ObjectMapper mapper;
+
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private Long TTL_SECONDS;
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private Integer MAX_ENTRIES;
+
+    @Value("${app.idempotency.persistent:false}")
+    private Boolean PERSISTENT;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Mono<?> result, String requestHash, long expiresAtMillis) {
+    }
+
+    /**
+     * Runs the action once per scoped key and replays its result to every retry.
+     * Concurrent duplicates subscribe to the in-flight result instead of running the action again.
+     * Failed results are not stored, so a retry after an error runs the action again.
+     * The key is bound to the request it first came with (body, path variables and parameters, hashed):
+     * the same key sent with another request fails with IDEMPOTENCY_KEY_REUSED instead of replaying a result
+     * that does not answer it.
+     *
+     * @param request everything that distinguishes one request of the scope from another; serialized to JSON and hashed
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Mono<ResponseWithChange<T>> execute(
+        String scope,
+        String idempotencyKey,
+        Object request,
+        Class<T> dataType,
+        Supplier<Mono<ResponseWithChange<T>>> action
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String storeKey = scope + ":" + idempotencyKey;
+        return Mono.defer(() -> {
+            String requestHash = _hash(request);
+            long now = System.currentTimeMillis();
+            Entry entry = entries.compute(storeKey, (key, existing) ->
+                existing != null && existing.expiresAtMillis() > now
+                    ? existing
+                    : newEntry(key, idempotencyKey, requestHash, dataType, action, now));
+            if (entries.size() > MAX_ENTRIES) {
+                _evict(now);
+            }
+            if (!entry.requestHash().equals(requestHash)) {
+                return Mono.error(new ApiException(ErrorCode.IDEMPOTENCY_KEY_REUSED, idempotencyKey));
+            }
+            return (Mono<ResponseWithChange<T>>) entry.result();
+        });
+    }
+
+    private <T> Entry newEntry(String storeKey, String idempotencyKey, String requestHash, Class<T> dataType, Supplier<Mono<ResponseWithChange<T>>> action, long now) {
+        long expiresAtMillis = now + TTL_SECONDS * 1000;
+
+        Mono<ResponseWithChange<T>> run = Mono.defer(action)
+            .flatMap(response -> Boolean.TRUE.equals(PERSISTENT)
+                ? _store(storeKey, requestHash, response, expiresAtMillis).thenReturn(response)
+                : Mono.just(response));
+        Mono<ResponseWithChange<T>> result = (Boolean.TRUE.equals(PERSISTENT) ? _load(storeKey, idempotencyKey, requestHash, dataType).switchIfEmpty(run) : run)
+            .doOnError(error -> entries.remove(storeKey))
+            .cache();
+
+        return new Entry(result, requestHash, expiresAtMillis);
+    }
+
+    private <T> Mono<ResponseWithChange<T>> _load(String storeKey, String idempotencyKey, String requestHash, Class<T> dataType) {
+        return idempotencyManager.findRecord(storeKey)
+            .flatMap((IdempotencyRecord stored) -> {
+                // records stored before request hashes were kept carry none and are replayed as before
+                if (stored.getRequestHash() != null && !stored.getRequestHash().equals(requestHash)) {
+                    return Mono.error(new ApiException(ErrorCode.IDEMPOTENCY_KEY_REUSED, idempotencyKey));
+                }
+                try {
+                    T data = mapper.readValue(stored.getResponseData(), dataType);
+                    return Mono.just(new ResponseWithChange<>(data, Instant.ofEpochMilli(stored.getLastChangeTime())));
+                } catch (JsonProcessingException e) {
+                    return Mono.error(new ApiException(ErrorCode.INTERNAL_SERVER, e));
+                }
+            });
+    }
+
+    private <T> Mono<Void> _store(String storeKey, String requestHash, ResponseWithChange<T> response, long expiresAtMillis) {
+        try {
+            return idempotencyManager.saveRecord(
+                storeKey,
+                requestHash,
+                mapper.writeValueAsString(response.getData()),
+                response.getLastChangeTime(),
+                Instant.ofEpochMilli(expiresAtMillis));
+        } catch (JsonProcessingException e) {
+            return Mono.error(new ApiException(ErrorCode.INTERNAL_SERVER, e));
+        }
+    }
+
+    private String _hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(mapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new ApiException(ErrorCode.INTERNAL_SERVER, e);
+        }
+    }
+
+    /**
+     * Drops expired entries, then the entries closest to expiry until the store is back within its bound.
+     */
+    private void _evict(long now) {
+        entries.entrySet().removeIf(entry -> entry.getValue().expiresAtMillis() <= now);
+
+        int excess = entries.size() - MAX_ENTRIES;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+        }
+
+        if (Boolean.TRUE.equals(PERSISTENT)) {
+            idempotencyManager.deleteExpiredRecords().subscribe();
+        }
+    }
+}
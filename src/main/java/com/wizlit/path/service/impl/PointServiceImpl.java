@@ -1,14 +1,26 @@
 package com.wizlit.path.service.impl;
 
 import com.wizlit.path.entity.Point;
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.PathMetric;
+import com.wizlit.path.model.TraversalDirection;
 import com.wizlit.path.model.domain.EdgeDto;
+import com.wizlit.path.model.domain.NeighborhoodDto;
+import com.wizlit.path.model.domain.PathDto;
 import com.wizlit.path.model.domain.PointDto;
 import com.wizlit.path.model.domain.UserDto;
 import com.wizlit.path.service.PointService;
 import com.wizlit.path.service.manager.EdgeManager;
 import com.wizlit.path.service.manager.PointManager;
 import com.wizlit.path.service.manager.ProjectManager;
+import com.wizlit.path.utils.Deadline;
+import com.wizlit.path.utils.NeighborhoodWalk;
+import com.wizlit.path.utils.ProjectMutationSequencer;
+import com.wizlit.path.utils.WeightedGraph;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +30,7 @@ import reactor.core.publisher.Mono;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,18 +44,41 @@ public class PointServiceImpl implements PointService {
     private final ProjectManager projectManager;
     private final PointManager pointManager;
     private final EdgeManager edgeManager;
+    private final ProjectMutationSequencer mutationSequencer;
+
+    @Value("${app.neighborhood.max-hops:10}")
+    private Integer NEIGHBORHOOD_MAX_HOPS;
     
     @Override
-    public Flux<PointDto> listPointsByIds(List<Long> ids, Instant updatedAfter) {
+    public Flux<PointDto> listPointsByIds(long[] ids, Instant updatedAfter) {
         return pointManager.getFullPoints(ids, updatedAfter);
     }
 
+    /**
+     * Reads only what the fieldset asks for: nothing without points, no memo join without memoIdsInOrder.
+     */
+    @Override
+    public Flux<PointDto> listPointsByIds(long[] ids, Instant updatedAfter, FieldSelection fields) {
+        if (!fields.includes(FieldSelection.POINTS)) {
+            return Flux.empty();
+        }
+
+        Flux<PointDto> points = fields.needsMemos()
+            ? pointManager.getFullPoints(ids, updatedAfter)
+            : pointManager.getLitePoints(ids, updatedAfter, fields.needsSummary());
+        return points.map(fields::apply);
+    }
+
     @Override
     public Mono<PointDto> getPoint(Long id, Instant updatedAfter) {
         return pointManager.getFullPoint(id, updatedAfter);
     }
 
-    @Transactional
+    /**
+     * Runs on the mutation lanes of the project and of every project the given endpoints belong to (see
+     * {@link #_laneKeys}): the backward-path check and the edge writes cannot interleave with other graph
+     * mutations touching those projects. The lanes own the transaction.
+     */
     @Override
     public Mono<PointDto> createPoint(
         Long projectId,
@@ -56,48 +92,57 @@ public class PointServiceImpl implements PointService {
             .pointCreatedUser(user.getUserId())
             .build();
         
-        return projectManager.isProjectExists(projectId, true)
-            .then(Mono.<Point>defer(() -> {
-                if (originPointId == null && destinationPointId == null) {
-                    // Only adding a new point with no connections
-                    return pointManager.createPoint(newPoint);
-                    
-                } else if (originPointId == null || destinationPointId == null) {
-                    // Connect point with one edge - validate existence of origin or destination
-                    Long existingPointId = originPointId != null ? originPointId : destinationPointId;
-                    return pointManager.validatePointsExist(existingPointId)
-                        .then(pointManager.createPoint(newPoint))
-                        .flatMap(savedPoint ->
-                            edgeManager.createEdge(
-                                originPointId != null ? originPointId : savedPoint.getPointId(),
-                                destinationPointId != null ? destinationPointId : savedPoint.getPointId()
-                            ).then(Mono.just(savedPoint))
-                        );
-
-                } else {
-                    // Both origin and destination provided: split edge
-                    return edgeManager.validateNoBackwardPath(originPointId, destinationPointId, 5)
-                        .then(pointManager.createPoint(newPoint))
-                        .flatMap(savedMiddlePoint ->
-                            edgeManager.splitEdge(originPointId, destinationPointId, savedMiddlePoint.getPointId())
-                                .then(Mono.just(savedMiddlePoint))
-                        );
-                }
-            }))
-            .flatMap(savedPoint -> 
-                projectManager.addPointToProject(projectId, savedPoint.getPointId())
-                    .then(Mono.just(PointDto.from(savedPoint, Collections.emptyList())))
-            );
+        return _laneKeys(projectId, originPointId, destinationPointId)
+            .flatMap(laneKeys -> mutationSequencer.submit(laneKeys, () -> projectManager.isProjectExists(projectId, true)
+                .then(Mono.<Point>defer(() -> {
+                    if (originPointId == null && destinationPointId == null) {
+                        // Only adding a new point with no connections
+                        return pointManager.createPoint(newPoint);
+                        
+                    } else if (originPointId == null || destinationPointId == null) {
+                        // Connect point with one edge - validate existence of origin or destination
+                        Long existingPointId = originPointId != null ? originPointId : destinationPointId;
+                        return pointManager.validatePointsExist(existingPointId)
+                            .then(pointManager.createPoint(newPoint))
+                            .flatMap(savedPoint ->
+                                edgeManager.createEdge(
+                                    originPointId != null ? originPointId : savedPoint.getPointId(),
+                                    destinationPointId != null ? destinationPointId : savedPoint.getPointId()
+                                ).then(Mono.just(savedPoint))
+                            );
+
+                    } else {
+                        // Both origin and destination provided: split edge
+                        return edgeManager.validateNoBackwardPath(originPointId, destinationPointId, 5)
+                            .then(pointManager.createPoint(newPoint))
+                            .flatMap(savedMiddlePoint ->
+                                edgeManager.splitEdge(originPointId, destinationPointId, savedMiddlePoint.getPointId())
+                                    .then(Mono.just(savedMiddlePoint))
+                            );
+                    }
+                }))
+                .flatMap(savedPoint -> 
+                    projectManager.addPointToProject(projectId, savedPoint.getPointId())
+                        .then(Mono.just(PointDto.from(savedPoint, Collections.emptyList())))
+                )));
     }
 
-    @Transactional
+    /**
+     * Runs on the mutation lanes of every project either endpoint belongs to (see {@link #_laneKeys}),
+     * so the backward-path check and the insert cannot race with other graph mutations of those projects.
+     */
     @Override
-    public Mono<EdgeDto> connectPoints(Long originPointId, Long destinationPointId) {
-        return edgeManager.validateEdgeDoesNotExist(originPointId, destinationPointId)
-            .then(pointManager.validatePointsExist(originPointId, destinationPointId))
-            .then(edgeManager.validateNoBackwardPath(originPointId, destinationPointId, 5))
-            .then(edgeManager.createEdge(originPointId, destinationPointId))
-            .map(edge -> EdgeDto.fromEdge(edge));
+    public Mono<EdgeDto> connectPoints(Long originPointId, Long destinationPointId, Integer weight) {
+        if (weight != null && weight < 0) {
+            return Mono.error(new ApiException(ErrorCode.INVALID_OPTION, "weight", weight));
+        }
+
+        return _laneKeys(null, originPointId, destinationPointId)
+            .flatMap(laneKeys -> mutationSequencer.submit(laneKeys, () ->
+                edgeManager.validateConnection(originPointId, destinationPointId, 5)
+                    .then(edgeManager.createEdgeIfAbsent(originPointId, destinationPointId, weight))
+                    .map(edge -> EdgeDto.fromEdge(edge))
+            ));
     }
 
     @Transactional
@@ -106,6 +151,66 @@ public class PointServiceImpl implements PointService {
         return edgeManager.deleteEdgeByPoints(originPointId, destinationPointId);
     }
 
+    /**
+     * Finds the route over the edges between the project's points, computed in memory from one weighted edge read.
+     * Without a projectId the origin's project is used (the lowest ID when it belongs to several).
+     */
+    @Override
+    public Mono<PathDto> findPath(Long projectId, Long originPointId, Long destinationPointId, PathMetric metric) {
+        Mono<Long> project = projectId != null
+            ? Mono.just(projectId)
+            : projectManager.findProjectIdsByPointId(originPointId)
+                .reduce(Long::min)
+                .switchIfEmpty(Mono.error(new ApiException(ErrorCode.POINT_NOT_FOUND, originPointId)));
+
+        return project
+            .flatMap(projectManager::getFullProjectById)
+            .flatMap(projectDto -> {
+                long[] pointIds = projectDto.getPointIds() != null ? projectDto.getPointIds() : new long[0];
+                for (Long pointId : List.of(originPointId, destinationPointId)) {
+                    if (LongStream.of(pointIds).noneMatch(id -> id == pointId)) {
+                        return Mono.error(new ApiException(ErrorCode.POINT_NOT_FOUND, pointId));
+                    }
+                }
+                // edges leaving the project would let a route pass through points outside it
+                long[] sortedPointIds = LongStream.of(pointIds).sorted().toArray();
+                return edgeManager.findWeightedEdgesByPointIds(pointIds)
+                    .map(edges -> edges.within(sortedPointIds));
+            })
+            .mapNotNull(edges -> WeightedGraph.of(edges).shortestPath(originPointId, destinationPointId, metric))
+            .map(path -> PathDto.from(originPointId, destinationPointId, metric, path))
+            .switchIfEmpty(Mono.error(new ApiException(ErrorCode.PATH_NOT_FOUND, originPointId, destinationPointId)));
+    }
+
+    /**
+     * Streams the points within the hop limit level by level, with one edge read per level: from the edge
+     * snapshot when it is loaded, otherwise an indexed query for the previous level's points only.
+     * A level is read once the previous one has been requested downstream, so a slow client holds the walk back.
+     * The request deadline applies per level (see Deadline.renewed), not to the stream as a whole: a walk that
+     * reads slowly is not cut off, while a level whose reads exceed the deadline ends the stream after the
+     * levels already sent.
+     */
+    @Override
+    public Flux<NeighborhoodDto> streamNeighborhood(Long pointId, TraversalDirection direction, int hops, FieldSelection fields) {
+        if (hops < 1 || hops > NEIGHBORHOOD_MAX_HOPS) {
+            return Flux.error(new ApiException(ErrorCode.INVALID_OPTION, "hops", hops));
+        }
+
+        return pointManager.validatePointsExist(pointId)
+            .thenMany(Flux.defer(() -> {
+                NeighborhoodWalk walk = new NeighborhoodWalk(pointId, direction);
+                return Mono.just(walk.start())
+                    .expand(level -> level.hop() >= hops || level.pointIds().length == 0
+                        ? Mono.empty()
+                        : Deadline.renewed(edgeManager.findCompactEdgesByPointIds(level.pointIds())
+                            .map(edges -> walk.next(level, edges))));
+            }))
+            .filter(level -> level.pointIds().length > 0 || level.edges().size() > 0)
+            .concatMap(level -> Deadline.renewed(listPointsByIds(level.pointIds(), null, fields)
+                .collectList()
+                .map(points -> NeighborhoodDto.from(level, points, fields))), 1);
+    }
+
     @Transactional
     @Override
     public Mono<PointDto> updatePoint(Long pointId, String title) {
@@ -133,4 +238,19 @@ public class PointServiceImpl implements PointService {
         throw new UnsupportedOperationException("Unimplemented method 'reorderMemo'");
     }
     
+
+    /**
+     * Sequencer keys of a graph mutation, derived the same way for every mutation: the given project plus all
+     * projects of each given point, where a point outside any project contributes 0. Mutations sharing an
+     * endpoint therefore always share a lane, whichever project they were issued for.
+     */
+    private Mono<List<Long>> _laneKeys(Long projectId, Long... pointIds) {
+        return Flux.fromArray(pointIds)
+            .filter(pointId -> pointId != null)
+            .concatMap(pointId -> projectManager.findProjectIdsByPointId(pointId)
+                .defaultIfEmpty(0L))
+            .startWith(projectId != null ? Flux.just(projectId) : Flux.empty())
+            .distinct()
+            .collectList();
+    }
 }
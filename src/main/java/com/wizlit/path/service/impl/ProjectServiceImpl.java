@@ -2,9 +2,12 @@ package com.wizlit.path.service.impl;
 
 import com.wizlit.path.exception.ApiException;
 import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.model.EdgeFormat;
 import com.wizlit.path.service.ProjectService;
 import com.wizlit.path.service.manager.EdgeManager;
 import com.wizlit.path.service.manager.ProjectManager;
+import com.wizlit.path.utils.ProjectLayoutCache;
+import com.wizlit.path.utils.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -23,23 +26,69 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectManager projectManager;
     private final EdgeManager edgeManager;
+    private final ProjectLayoutCache projectLayoutCache;
+
+    private final SingleFlight<String, ProjectDto> projectReads = new SingleFlight<>();
 
     @Override
     public Mono<ProjectDto> getProjectById(Long projectId) {
+        return getProjectById(projectId, EdgeFormat.OBJECTS);
+    }
+
+    @Override
+    public Mono<ProjectDto> getProjectById(Long projectId, EdgeFormat edgeFormat) {
+        return getProjectById(projectId, edgeFormat, false);
+    }
+
+    /**
+     * Concurrent reads of the same project in the same edge format share one project and edge lookup.
+     * COMPACT and DELTA read the edges as primitive arrays instead of EdgeDto objects.
+     * withLayout adds the topological order and layers of the project graph (edges are read for it even with NONE).
+     */
+    @Override
+    public Mono<ProjectDto> getProjectById(Long projectId, EdgeFormat edgeFormat, boolean withLayout) {
         if (projectId == null) {
             return Mono.error(new ApiException(ErrorCode.NULL_INPUT, "projectId"));
         }
-        
+        EdgeFormat format = edgeFormat != null ? edgeFormat : EdgeFormat.OBJECTS;
+
+        return projectReads.execute(projectId + ":" + format + ":" + withLayout, () -> _loadProject(projectId, format, withLayout));
+    }
+
+    private Mono<ProjectDto> _loadProject(Long projectId, EdgeFormat edgeFormat, boolean withLayout) {
         return projectManager.getFullProjectById(projectId)
                 .flatMap(projectDto -> {
                     if (projectDto == null) {
                         return Mono.error(new ApiException(ErrorCode.PROJECT_NOT_FOUND, projectId));
                     }
+                    long[] pointIds = projectDto.getPointIds();
+
+                    if (edgeFormat == EdgeFormat.NONE && !withLayout) {
+                        return Mono.just(projectDto.append(pointIds, null));
+                    }
+                    if (edgeFormat != EdgeFormat.OBJECTS) {
+                        return edgeManager.findCompactEdgesByPointIds(pointIds)
+                                .map(edges -> {
+                                    if (edgeFormat == EdgeFormat.NONE) {
+                                        projectDto.append(pointIds, null);
+                                    } else {
+                                        projectDto.appendCompact(pointIds, edges.withDelta(edgeFormat == EdgeFormat.DELTA));
+                                    }
+                                    return withLayout
+                                            ? projectDto.appendLayout(projectLayoutCache.layoutOf(projectId, pointIds, edges))
+                                            : projectDto;
+                                });
+                    }
 
-                    return edgeManager.findEdgesByPointIds(projectDto.getPointIds())
+                    return edgeManager.findEdgesByPointIds(pointIds)
                             .map(EdgeDto::fromEdge)
                             .collectList()
-                            .map(edges -> projectDto.append(projectDto.getPointIds(), edges));
+                            .map(edges -> {
+                                projectDto.append(pointIds, edges);
+                                return withLayout
+                                        ? projectDto.appendLayout(projectLayoutCache.layoutOf(projectId, pointIds, edges))
+                                        : projectDto;
+                            });
                 });
     }
 }
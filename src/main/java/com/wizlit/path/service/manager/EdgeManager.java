@@ -1,15 +1,24 @@
 package com.wizlit.path.service.manager;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.wizlit.path.entity.Edge;
 import com.wizlit.path.exception.ApiException;
 import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.EdgeFingerprint;
+import com.wizlit.path.model.WeightedEdges;
 import com.wizlit.path.repository.EdgeRepository;
+import com.wizlit.path.utils.ChunkedFetch;
+import com.wizlit.path.utils.PackedLongs;
 import com.wizlit.path.utils.Validator;
 
 import lombok.RequiredArgsConstructor;
@@ -41,24 +50,109 @@ public class EdgeManager {
 
     private final EdgeRepository edgeRepository;
 
+    @Value("${app.fetch.chunk-size:5000}")
+    private Integer FETCH_CHUNK_SIZE;
+
+    @Value("${app.fetch.parallelism:4}")
+    private Integer FETCH_PARALLELISM;
+
+    @Value("${app.write.chunk-size:10000}")
+    private Integer WRITE_CHUNK_SIZE;
+
+    private static final Pattern DUPLICATE_EDGE_DETAIL = Pattern.compile("\\(origin_point, destination_point\\)=\\((\\d+), (\\d+)\\)");
+
     /**
      * Finds all edges that are connected to any of the specified points.
+     * Large point sets are fetched in concurrent chunks; an edge whose endpoints fall into
+     * different chunks is returned by both, so chunked results are de-duplicated.
      *
-     * @param pointIds List of point IDs to find connected edges for
+     * @param pointIds IDs of the points to find connected edges for
      * @return A Flux of edges connected to the specified points
      */
-    public Flux<Edge> findEdgesByPointIds(List<Long> pointIds) {
-        if (pointIds == null || pointIds.isEmpty()) return Flux.empty();
+    public Flux<Edge> findEdgesByPointIds(long[] pointIds) {
+        if (pointIds == null || pointIds.length == 0) return Flux.empty();
+
+        Flux<Edge> edges = ChunkedFetch.fetch(pointIds, FETCH_CHUNK_SIZE, FETCH_PARALLELISM, edgeRepository::findAllByPointIdIn);
+        if (ChunkedFetch.isChunked(pointIds, FETCH_CHUNK_SIZE)) {
+            edges = edges.distinct();
+        }
 
-        return edgeRepository.findAllByPointIdIn(pointIds)
+        return edges
             .onErrorMap(error -> Validator.from(error)
                 .containsAllElseError(
-                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, pointIds),
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, PackedLongs.toString(pointIds)),
                     "foreign", "key", "edge"
                 )
                 .toException());
     }
 
+    /**
+     * Finds the same edges as findEdgesByPointIds as primitive origin/destination arrays.
+     * Each chunk comes back as one aggregated row; chunk results are merged and de-duplicated.
+     *
+     * @param pointIds IDs of the points to find connected edges for
+     * @return A Mono of the edges sorted by (origin, destination), empty arrays if none
+     */
+    public Mono<CompactEdges> findCompactEdgesByPointIds(long[] pointIds) {
+        if (pointIds == null || pointIds.length == 0) return Mono.just(CompactEdges.empty());
+
+        return ChunkedFetch.fetch(pointIds, FETCH_CHUNK_SIZE, FETCH_PARALLELISM,
+                ids -> edgeRepository.findColumnsByPointIdIn(ids).flux())
+            .map(CompactEdges::decode)
+            .collectList()
+            .map(CompactEdges::merge)
+            .onErrorMap(error -> Validator.from(error)
+                .containsAllElseError(
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, PackedLongs.toString(pointIds)),
+                    "foreign", "key", "edge"
+                )
+                .toException());
+    }
+
+    /**
+     * Finds the same edges as findCompactEdgesByPointIds together with their weights, e.g. for path queries.
+     * Chunks are fetched, merged and de-duplicated the same way.
+     *
+     * @param pointIds IDs of the points to find connected edges for
+     * @return A Mono of the weighted edges sorted by (origin, destination), empty arrays if none
+     */
+    public Mono<WeightedEdges> findWeightedEdgesByPointIds(long[] pointIds) {
+        if (pointIds == null || pointIds.length == 0) return Mono.just(WeightedEdges.empty());
+
+        return ChunkedFetch.fetch(pointIds, FETCH_CHUNK_SIZE, FETCH_PARALLELISM,
+                ids -> edgeRepository.findWeightedColumnsByPointIdIn(ids).flux())
+            .map(WeightedEdges::decode)
+            .collectList()
+            .map(WeightedEdges::merge)
+            .onErrorMap(error -> Validator.from(error)
+                .containsAllElseError(
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, PackedLongs.toString(pointIds)),
+                    "foreign", "key", "edge"
+                )
+                .toException());
+    }
+
+    /**
+     * Finds every edge as primitive origin/destination arrays, e.g. to build the edge snapshot.
+     *
+     * @return A Mono of all edges sorted by (origin, destination), empty arrays if none
+     */
+    public Mono<CompactEdges> findAllCompactEdges() {
+        return edgeRepository.findAllColumns()
+            .map(CompactEdges::decode)
+            .defaultIfEmpty(CompactEdges.empty())
+            .onErrorMap(error -> Validator.from(error).toException());
+    }
+
+    /**
+     * @return A Mono of the edge count and checksum of all edges
+     */
+    public Mono<EdgeFingerprint> fingerprintEdges() {
+        return edgeRepository.fingerprint()
+            .defaultIfEmpty(EdgeFingerprint.EMPTY)
+            .onErrorMap(error -> Validator.from(error).toException());
+    }
+
     /**
      * Validates edge existence and optionally throws an exception.
      *
@@ -121,6 +215,65 @@ public class EdgeManager {
             });
     }
 
+    /**
+     * Validates that an edge can be created, running all checks in a single statement.
+     * Checks are reported in the same order as the individual validators:
+     * edge existence, point existence, then backward path.
+     *
+     * @param originPointId The ID of the origin point
+     * @param destinationPointId The ID of the destination point
+     * @param depth The maximum depth to check for backward paths
+     * @return A Mono containing true if the edge can be created
+     * @throws ApiException with ErrorCode.EDGE_ALREADY_EXISTS if the edge exists
+     * @throws ApiException with ErrorCode.NON_EXISTENT_POINTS if either point doesn't exist
+     * @throws ApiException with ErrorCode.BACKWARD_PATH if a backward path is found
+     */
+    public Mono<Boolean> validateConnection(Long originPointId, Long destinationPointId, int depth) {
+        long expectedPoints = originPointId.equals(destinationPointId) ? 1 : 2;
+
+        return edgeRepository.checkConnection(originPointId, destinationPointId, depth)
+            .onErrorMap(error -> Validator.from(error)
+                .containsAllElseError(
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, List.of(originPointId, destinationPointId)),
+                    "foreign", "key", "edge"
+                )
+                .toException())
+            .flatMap(check -> {
+                if (Boolean.TRUE.equals(check.edgeExists())) {
+                    return Mono.error(new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, originPointId, destinationPointId));
+                }
+                if (check.existingPoints() == null || check.existingPoints() < expectedPoints) {
+                    return Mono.error(new ApiException(ErrorCode.NON_EXISTENT_POINTS, List.of(originPointId, destinationPointId).toString()));
+                }
+                if (Boolean.TRUE.equals(check.backwardPath())) {
+                    return Mono.error(new ApiException(ErrorCode.BACKWARD_PATH, depth, originPointId, destinationPointId));
+                }
+                return Mono.just(true);
+            });
+    }
+
+    /**
+     * Creates an edge with an idempotent insert.
+     * An edge created concurrently after validation surfaces as EDGE_ALREADY_EXISTS instead of a constraint error.
+     *
+     * @param originPointId The ID of the origin point
+     * @param destinationPointId The ID of the destination point
+     * @param weight The weight of the edge, null for the default weight
+     * @return A Mono containing the created Edge
+     * @throws ApiException with ErrorCode.EDGE_ALREADY_EXISTS if the edge already exists
+     * @throws ApiException with ErrorCode.NON_EXISTENT_POINTS if either point doesn't exist
+     */
+    public Mono<Edge> createEdgeIfAbsent(Long originPointId, Long destinationPointId, Integer weight) {
+        return edgeRepository.insertIfAbsent(originPointId, destinationPointId, weight)
+            .onErrorMap(error -> Validator.from(error)
+                .containsAllElseError(
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, List.of(originPointId, destinationPointId)),
+                    "foreign", "key", "edge"
+                )
+                .toException())
+            .switchIfEmpty(Mono.error(new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, originPointId, destinationPointId)));
+    }
+
     /**
      * Saves a single edge to the repository.
      *
@@ -151,31 +304,83 @@ public class EdgeManager {
     }
 
     /**
-     * Saves multiple edges to the repository.
+     * Saves multiple edges with multi-row inserts.
+     * Each statement carries up to the write chunk size of edges as two bigint[] binds and an int[] of weights,
+     * so a 10k-edge write is a single round trip with the default settings.
+     * Callers run it in a transaction (see createEdges), so a failing chunk also undoes the earlier ones.
      *
      * @param newEdges The edges to save
      * @return A Flux of saved edges
+     * @throws ApiException with ErrorCode.NON_EXISTENT_POINTS if any point doesn't exist
+     * @throws ApiException with ErrorCode.EDGE_ALREADY_EXISTS with the conflicting pair if any edge already exists,
+     *         or ErrorCode.EDGES_ALREADY_EXIST when the database does not name it
      */
-    private Flux<Edge> _saveEdges(Edge... newEdges) {
-        return edgeRepository.saveAll(List.of(newEdges))
+    private Flux<Edge> _saveEdges(List<Edge> newEdges) {
+        if (newEdges.isEmpty()) return Flux.empty();
+
+        int chunkCount = (newEdges.size() + WRITE_CHUNK_SIZE - 1) / WRITE_CHUNK_SIZE;
+
+        return Flux.range(0, chunkCount)
+            .concatMap(chunk -> {
+                List<Edge> edges = newEdges.subList(chunk * WRITE_CHUNK_SIZE, Math.min((chunk + 1) * WRITE_CHUNK_SIZE, newEdges.size()));
+                Long[] origins = new Long[edges.size()];
+                Long[] destinations = new Long[edges.size()];
+                Integer[] weights = new Integer[edges.size()];
+                for (int i = 0; i < edges.size(); i++) {
+                    origins[i] = edges.get(i).getOriginPoint();
+                    destinations[i] = edges.get(i).getDestinationPoint();
+                    weights[i] = edges.get(i).getWeight();
+                }
+                return edgeRepository.insertAll(origins, destinations, weights);
+            })
             .onErrorMap(error -> Validator.from(error)
                 .containsAllElseError(
-                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, Arrays.stream(newEdges)
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, newEdges.stream()
                         .map(edge -> List.of(edge.getOriginPoint(), edge.getDestinationPoint()))
                         .flatMap(List::stream)
                         .distinct()
                         .collect(Collectors.toList())),
                     "foreign", "key", "edge"
                 )
+                .containsAllElseError(_duplicateEdgeError(error, newEdges), "unique", "unique_edge")
                 .toException());
     }
 
+    /**
+     * The conflicting pair as named in the violation detail ("Key (origin_point, destination_point)=(1, 2) already exists."),
+     * the only edge of a single-edge batch, or a batch-level error when neither tells which edge it was.
+     */
+    private static ApiException _duplicateEdgeError(Throwable error, List<Edge> newEdges) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            Matcher matcher = DUPLICATE_EDGE_DETAIL.matcher(String.valueOf(cause.getMessage()));
+            if (matcher.find()) {
+                return new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)));
+            }
+        }
+        if (newEdges.size() == 1) {
+            return new ApiException(ErrorCode.EDGE_ALREADY_EXISTS, newEdges.get(0).getOriginPoint(), newEdges.get(0).getDestinationPoint());
+        }
+        return new ApiException(ErrorCode.EDGES_ALREADY_EXIST, newEdges.size());
+    }
+
+    /**
+     * Saves the edges all or nothing: every chunk runs in one transaction.
+     */
+    @Transactional
     public Flux<Edge> createEdges(Edge... newEdges) {
+        return _saveEdges(List.of(newEdges));
+    }
+
+    @Transactional
+    public Flux<Edge> createEdges(List<Edge> newEdges) {
         return _saveEdges(newEdges);
     }
 
     /**
      * Splits an existing edge by inserting a middle point, creating two new edges.
+     * Both halves keep the weight of the split edge (a stored null stays null, i.e. the default weight):
+     * the middle point adds a step to the path rather than dividing a distance, and an integer weight
+     * cannot be halved without rounding anyway.
      *
      * @param originPointId The ID of the origin point
      * @param destinationPointId The ID of the destination point
@@ -183,20 +388,12 @@ public class EdgeManager {
      * @return A Flux containing the two new edges
      */
     public Flux<Edge> splitEdge(Long originPointId, Long destinationPointId, Long middlePointId) {
-        Edge toMiddle = Edge.builder()
-            .originPoint(originPointId)
-            .destinationPoint(middlePointId)
-            .build();
-
-        Edge fromMiddle = Edge.builder()
-            .originPoint(middlePointId)
-            .destinationPoint(destinationPointId)
-            .build();
-
         return _validateEdgeExistence(originPointId, destinationPointId, false)
-            .flatMapMany(this::deleteEdge)
-            .switchIfEmpty(Flux.empty())
-            .thenMany(_saveEdges(toMiddle, fromMiddle));
+            .flatMap(existingEdge -> deleteEdge(existingEdge).thenReturn(Optional.ofNullable(existingEdge.getWeight())))
+            .defaultIfEmpty(Optional.empty())
+            .flatMapMany(weight -> _saveEdges(List.of(
+                new Edge(originPointId, middlePointId, weight.orElse(null)),
+                new Edge(middlePointId, destinationPointId, weight.orElse(null)))));
     }
     
     /**
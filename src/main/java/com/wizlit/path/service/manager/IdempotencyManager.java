@@ -0,0 +1,77 @@
+package com.wizlit.path.service.manager;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.wizlit.path.entity.IdempotencyRecord;
+import com.wizlit.path.repository.IdempotencyRepository;
+import com.wizlit.path.utils.Validator;
+
+import lombok.RequiredArgsConstructor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * IdempotencyManager is a component responsible for the persisted results of idempotent requests.
+ * 
+ * This manager follows strict rules for repository usage and error handling:
+ * 1. Each repository should be used exclusively within this manager
+ * 2. Repository operations should be called exactly once per method
+ * 3. All repository operations must include error mapping using Validator
+ * 4. No direct calls to other helpers or services are allowed
+ * 5. Methods should not return DTOs directly
+ * 
+ * Manager 규칙:
+ * 1. 동일한 repository 가 다른 곳에서도 쓰이면 안됨
+ * 2. repository 의 각 기능은 반드시 한 번만 호출
+ * 3. repository 기능에는 .onErrorMap(error -> Validator.from(error).toException()) 필수
+ * 4. 다른 helper 나 service 호출 금지
+ * 5. DTO 반환 금지
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyManager {
+
+    private final IdempotencyRepository idempotencyRepository;
+
+    /**
+     * Finds a stored result that has not expired yet.
+     *
+     * @param idempotencyKey The scoped idempotency key
+     * @return A Mono containing the stored record, or empty if none is stored
+     */
+    public Mono<IdempotencyRecord> findRecord(String idempotencyKey) {
+        return idempotencyRepository.findValidByKey(idempotencyKey, Instant.now())
+            .onErrorMap(error -> Validator.from(error)
+                .toException());
+    }
+
+    /**
+     * Stores a result unless one is already stored for the key; the first stored result wins.
+     *
+     * @param idempotencyKey The scoped idempotency key
+     * @param requestHash SHA-256 (hex) of the request the result answers
+     * @param responseData JSON of the response data
+     * @param lastChangeTime The response's last change time in epoch milliseconds
+     * @param expiresTimestamp When the record stops being replayed
+     * @return A Mono that completes when the record is stored
+     */
+    public Mono<Void> saveRecord(String idempotencyKey, String requestHash, String responseData, Long lastChangeTime, Instant expiresTimestamp) {
+        return idempotencyRepository.insertIfAbsent(idempotencyKey, requestHash, responseData, lastChangeTime, expiresTimestamp)
+            .onErrorMap(error -> Validator.from(error)
+                .toException())
+            .then();
+    }
+
+    /**
+     * Deletes all expired records.
+     *
+     * @return A Mono containing the number of deleted records
+     */
+    public Mono<Integer> deleteExpiredRecords() {
+        return idempotencyRepository.deleteExpired(Instant.now())
+            .onErrorMap(error -> Validator.from(error)
+                .toException());
+    }
+}
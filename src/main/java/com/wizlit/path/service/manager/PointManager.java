@@ -12,6 +12,8 @@ import com.wizlit.path.exception.ApiException;
 import com.wizlit.path.exception.ErrorCode;
 import com.wizlit.path.model.domain.PointDto;
 import com.wizlit.path.repository.PointRepository;
+import com.wizlit.path.utils.ChunkedFetch;
+import com.wizlit.path.utils.PackedLongs;
 import com.wizlit.path.utils.Validator;
 
 import lombok.RequiredArgsConstructor;
@@ -45,22 +47,52 @@ public class PointManager {
     
     @Value("${app.point.max-memos:15}")
     private Integer MAX_MEMOS_PER_POINT;
+
+    @Value("${app.fetch.chunk-size:5000}")
+    private Integer FETCH_CHUNK_SIZE;
+
+    @Value("${app.fetch.parallelism:4}")
+    private Integer FETCH_PARALLELISM;
     
     /**
      * Gets multiple points with their ordered memos.
+     * Point sets larger than the fetch chunk size are fetched in concurrent chunks, merged in order.
      *
-     * @param pointIds List of point IDs to get
+     * @param pointIds IDs of the points to get
      * @param updatedAfter The timestamp to check against
      * @return A Flux of PointDto with ordered memos
      */
-    public Flux<PointDto> getFullPoints(List<Long> pointIds, Instant updatedAfter) {
-        if (pointIds == null || pointIds.isEmpty()) {
+    public Flux<PointDto> getFullPoints(long[] pointIds, Instant updatedAfter) {
+        if (pointIds == null || pointIds.length == 0) {
+            return Flux.empty();
+        }
+        return ChunkedFetch.fetch(pointIds, FETCH_CHUNK_SIZE, FETCH_PARALLELISM,
+                ids -> pointRepository.findFullPointsByIds(ids, updatedAfter))
+            .onErrorMap(error -> Validator.from(error)
+                .containsAllElseError(
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, PackedLongs.toString(pointIds)),
+                    "foreign", "key", "point"
+                )
+                .toException());
+    }
+
+    /**
+     * Gets multiple points without their memos, for views that do not need memo order.
+     *
+     * @param pointIds IDs of the points to get
+     * @param updatedAfter The timestamp to check against
+     * @param withSummary Whether to read the summary text
+     * @return A Flux of PointDto without memoIdsInOrder
+     */
+    public Flux<PointDto> getLitePoints(long[] pointIds, Instant updatedAfter, boolean withSummary) {
+        if (pointIds == null || pointIds.length == 0) {
             return Flux.empty();
         }
-        return pointRepository.findFullPointsByIds(pointIds, updatedAfter)
+        return ChunkedFetch.fetch(pointIds, FETCH_CHUNK_SIZE, FETCH_PARALLELISM,
+                ids -> pointRepository.findLitePointsByIds(ids, updatedAfter, withSummary))
             .onErrorMap(error -> Validator.from(error)
                 .containsAllElseError(
-                    new ApiException(ErrorCode.POINT_NOT_FOUND, pointIds),
+                    new ApiException(ErrorCode.NON_EXISTENT_POINTS, PackedLongs.toString(pointIds)),
                     "foreign", "key", "point"
                 )
                 .toException());
@@ -72,7 +104,7 @@ public class PointManager {
                 if (!exists) {
                     return Mono.error(new ApiException(ErrorCode.POINT_NOT_FOUND, pointId));
                 }
-                return getFullPoints(List.of(pointId), updatedAfter)
+                return getFullPoints(new long[] { pointId }, updatedAfter)
                     .next();
             });
     }
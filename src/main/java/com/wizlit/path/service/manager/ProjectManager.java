@@ -2,8 +2,14 @@ package com.wizlit.path.service.manager;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 
 import com.wizlit.path.entity.Project;
 import com.wizlit.path.entity.ProjectPoint;
@@ -44,6 +50,8 @@ public class ProjectManager {
     private final ProjectRepository projectRepository;
     private final ProjectPointRepository projectPointRepository;
 
+    private final Object touchKey = new Object(); // transaction resource key of the pending touches
+
     /**
      * Checks if a project exists by its ID.
      *
@@ -75,7 +83,7 @@ public class ProjectManager {
      * @throws ApiException with ErrorCode.PROJECT_NOT_FOUND if the project doesn't exist
      */
     public Mono<ProjectDto> getFullProjectById(Long projectId) {
-        return projectRepository.findFullProjectsByIds(List.of(projectId), null)
+        return projectRepository.findFullProjectsByIds(new Long[] { projectId }, null)
             .next()
             .switchIfEmpty(Mono.error(new ApiException(ErrorCode.PROJECT_NOT_FOUND, projectId)));
     }
@@ -95,6 +103,22 @@ public class ProjectManager {
                         .toException());
     }
 
+    /**
+     * Lists the IDs of all projects a point belongs to.
+     *
+     * @param pointId The ID of the point
+     * @return A Flux of project IDs, or an empty Flux if pointId is null
+     */
+    public Flux<Long> findProjectIdsByPointId(Long pointId) {
+        if (pointId == null) {
+            return Flux.empty();
+        }
+        return projectPointRepository.findAllByPointId(pointId)
+                .onErrorMap(error -> Validator.from(error)
+                        .toException())
+                .map(ProjectPoint::getProjectId);
+    }
+
     /**
      * Saves a project to the repository.
      *
@@ -115,20 +139,76 @@ public class ProjectManager {
 
     /**
      * Updates the project's timestamp to the current time.
+     * Inside a transaction the touch is only recorded; all projects touched by the transaction are bumped with
+     * one UPDATE on its own connection right before it commits, so the hot project row is locked only for the
+     * end of the transaction and the bump rolls back with it. Without a transaction the UPDATE runs right away.
+     * The timestamp is taken when the UPDATE runs, so it is never earlier than any change it covers.
      *
      * @param projectId The ID of the project to update
-     * @return A Mono containing the updated Project
+     * @return A Mono that completes when the touch is recorded (in a transaction) or written (without one)
+     * @throws ApiException with ErrorCode.PROJECT_NOT_FOUND if the project doesn't exist
      */
-    public Mono<Project> updateProject(Long projectId) {
+    public Mono<Void> touchProject(Long projectId) {
         if (projectId == null) {
             return Mono.error(new ApiException(ErrorCode.NULL_INPUT, "projectId"));
         }
 
-        return projectRepository.findById(projectId)
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronization -> {
+                    if (!synchronization.isSynchronizationActive()) {
+                        return _touchProjects(Set.of(projectId));
+                    }
+                    _pendingTouches(synchronization).add(projectId);
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, error -> _touchProjects(Set.of(projectId)));
+    }
+
+    /**
+     * Project IDs touched by the current transaction; the first touch registers the flush before commit.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> _pendingTouches(TransactionSynchronizationManager synchronization) {
+        synchronized (touchKey) {
+            Set<Long> pending = (Set<Long>) synchronization.getResource(touchKey);
+            if (pending != null) {
+                return pending;
+            }
+
+            Set<Long> created = ConcurrentHashMap.newKeySet();
+            synchronization.bindResource(touchKey, created);
+            synchronization.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> beforeCommit(boolean readOnly) {
+                    return _touchProjects(created);
+                }
+
+                @Override
+                public Mono<Void> afterCompletion(int status) {
+                    return Mono.fromRunnable(() -> synchronization.unbindResourceIfPossible(touchKey));
+                }
+            });
+            return created;
+        }
+    }
+
+    /**
+     * Writes the timestamp bumps of all given projects with a single UPDATE.
+     */
+    private Mono<Void> _touchProjects(Set<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return projectRepository.touchProjects(projectIds.toArray(Long[]::new), Instant.now())
                 .onErrorMap(error -> Validator.from(error)
                         .toException())
-                .switchIfEmpty(Mono.error(new ApiException(ErrorCode.PROJECT_NOT_FOUND, projectId)))
-                .flatMap(existingProject -> saveProject(existingProject));
+                .collect(Collectors.toSet())
+                .flatMap(touchedIds -> projectIds.stream()
+                        .filter(projectId -> !touchedIds.contains(projectId))
+                        .findFirst()
+                        .map(missingId -> Mono.<Void>error(new ApiException(ErrorCode.PROJECT_NOT_FOUND, missingId)))
+                        .orElse(Mono.empty()));
     }
 
     /**
@@ -139,24 +219,38 @@ public class ProjectManager {
      * @return A Mono containing the created ProjectPoint
      */
     public Mono<ProjectPoint> addPointToProject(Long projectId, Long pointId) {
-        ProjectPoint newProjectPoint = ProjectPoint.builder()
-                .projectId(projectId)
-                .pointId(pointId)
-                .build();
+        return addPointsToProject(projectId, List.of(pointId))
+                .next();
+    }
+
+    /**
+     * Adds points to a project with a single multi-row insert and updates the project's timestamp once.
+     *
+     * @param projectId The ID of the project to add the points to
+     * @param pointIds The IDs of the points to add
+     * @return A Flux of the created ProjectPoints
+     */
+    public Flux<ProjectPoint> addPointsToProject(Long projectId, List<Long> pointIds) {
+        if (pointIds == null || pointIds.isEmpty()) {
+            return Flux.empty();
+        }
 
-        return projectPointRepository.save(newProjectPoint)
+        return projectPointRepository.insertAll(projectId, pointIds.toArray(Long[]::new))
                 .onErrorMap(error -> Validator.from(error)
                         .containsAllElseError(
                             new ApiException(ErrorCode.PROJECT_NOT_FOUND, projectId),
                             "foreign", "key", "project"
                         )
                         .containsAllElseError(
-                            new ApiException(ErrorCode.POINT_NOT_FOUND, pointId),
+                            pointIds.size() == 1
+                                ? new ApiException(ErrorCode.POINT_NOT_FOUND, pointIds.get(0))
+                                : new ApiException(ErrorCode.NON_EXISTENT_POINTS, pointIds),
                             "foreign", "key", "point"
                         )
                         .toException())
-                .flatMap(projectPoint -> updateProject(projectId)
-                        .thenReturn(projectPoint));
+                .collectList()
+                .flatMapMany(projectPoints -> touchProject(projectId)
+                        .thenMany(Flux.fromIterable(projectPoints)));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.wizlit.path.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request counts of project and point reads, kept across restarts so {@link WarmUpRunner} knows what to prefetch.
+ *
+ * Counts are loaded halved, so popularity of earlier runs fades. Only the first app.warmup.tracked IDs of each kind
+ * are counted, and only the most-read of them are written back on shutdown.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessHistory {
+
+    private static final int MAGIC = 0x41434831; // "ACH1"
+
+    private final Path file;
+    private final int tracked;
+    private final int persisted;
+
+    private final Map<Long, LongAdder> projects = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> points = new ConcurrentHashMap<>();
+
+    public AccessHistory(
+            @Value("${app.warmup.history-file:data/access-history.bin}") String file,
+            @Value("${app.warmup.tracked:10000}") int tracked,
+            @Value("${app.warmup.persisted:1000}") int persisted
+    ) {
+        this.file = Path.of(file);
+        this.tracked = tracked;
+        this.persisted = persisted;
+        _load();
+    }
+
+    public void recordProject(long projectId) {
+        _record(projects, projectId);
+    }
+
+    public void recordPoint(long pointId) {
+        _record(points, pointId);
+    }
+
+    public long[] hottestProjects(int limit) {
+        return _hottest(projects, limit);
+    }
+
+    public long[] hottestPoints(int limit) {
+        return _hottest(points, limit);
+    }
+
+    @PreDestroy
+    public void save() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                _write(out, projects);
+                _write(out, points);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Access history not saved to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void _record(Map<Long, LongAdder> counts, long id) {
+        LongAdder count = counts.get(id);
+        if (count == null) {
+            if (counts.size() >= tracked) return;
+            count = counts.computeIfAbsent(id, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private long[] _hottest(Map<Long, LongAdder> counts, int limit) {
+        return counts.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+            .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .mapToLong(Map.Entry::getKey)
+            .toArray();
+    }
+
+    private void _write(DataOutputStream out, Map<Long, LongAdder> counts) throws IOException {
+        long[] hottest = _hottest(counts, persisted);
+        out.writeInt(hottest.length);
+        for (long id : hottest) {
+            LongAdder count = counts.get(id);
+            out.writeLong(id);
+            out.writeLong(count != null ? count.sum() : 0);
+        }
+    }
+
+    private void _load() {
+        if (!Files.exists(file)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                log.warn("Access history {} has an unknown format, starting empty", file);
+                return;
+            }
+            _read(in, projects);
+            _read(in, points);
+        } catch (IOException e) {
+            log.warn("Access history {} unreadable, starting empty: {}", file, e.getMessage());
+            projects.clear();
+            points.clear();
+        }
+    }
+
+    private void _read(DataInputStream in, Map<Long, LongAdder> counts) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            long id = in.readLong();
+            long count = in.readLong() / 2;
+            if (count > 0 && counts.size() < tracked) {
+                counts.computeIfAbsent(id, key -> new LongAdder()).add(count);
+            }
+        }
+    }
+}
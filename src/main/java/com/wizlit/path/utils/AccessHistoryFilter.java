@@ -0,0 +1,59 @@
+package com.wizlit.path.utils;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts successful project and point reads into the {@link AccessHistory}.
+ * The handler's matched pattern is read after the exchange is handled, so no path is parsed here.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AccessHistoryFilter implements WebFilter {
+
+    private static final String PROJECT_READ = "/api/project/{projectId}";
+    private static final String POINT_READ = "/api/point/{pointId}";
+
+    private final AccessHistory accessHistory;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .doOnSuccess(done -> _record(exchange));
+    }
+
+    private void _record(ServerWebExchange exchange) {
+        if (exchange.getResponse().getStatusCode() == null || !exchange.getResponse().getStatusCode().is2xxSuccessful()) {
+            return;
+        }
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Map<String, String> variables = exchange.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pattern == null || variables == null) {
+            return;
+        }
+        try {
+            switch (pattern.getPatternString()) {
+                case PROJECT_READ -> accessHistory.recordProject(Long.parseLong(variables.get("projectId")));
+                case POINT_READ -> accessHistory.recordPoint(Long.parseLong(variables.get("pointId")));
+                default -> { }
+            }
+        } catch (NumberFormatException ignored) {
+            // rejected by the handler already
+        }
+    }
+}
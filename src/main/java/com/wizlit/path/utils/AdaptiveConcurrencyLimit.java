@@ -0,0 +1,75 @@
+package com.wizlit.path.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit.
+ *
+ * The limit grows by one per limit's worth of fast successes while at least half of it is in use,
+ * and is multiplied by the backoff ratio whenever a request is slow or fails with a server error.
+ * Requests beyond the current limit are rejected immediately instead of queuing on the connection pool.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * @return true if the request may proceed; the caller must then call exactly one of
+     *         {@link #onSuccess}, {@link #onDropped} or {@link #onIgnored}
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void onSuccess(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            _decrease();
+        } else if (current * 2 >= limit) {
+            _increase();
+        }
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        _decrease();
+    }
+
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void _increase() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    private synchronized void _decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
@@ -0,0 +1,47 @@
+package com.wizlit.path.utils;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Defers in-memory bookkeeping of a repository write until the surrounding reactive transaction commits,
+ * so a rolled-back write is never recorded. Without a transaction the action runs right away.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static Mono<Void> run(Runnable action) {
+        return _run(Mono.fromRunnable(action));
+    }
+
+    /**
+     * Runs the action on the given scheduler instead of the committing thread, e.g. for blocking file I/O.
+     * The commit (or, without a transaction, the returned Mono) completes once the action has run.
+     */
+    public static Mono<Void> run(Runnable action, Scheduler scheduler) {
+        return _run(Mono.<Void>fromRunnable(action).subscribeOn(scheduler));
+    }
+
+    private static Mono<Void> _run(Mono<Void> action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .flatMap(synchronization -> {
+                if (!synchronization.isSynchronizationActive()) {
+                    return action;
+                }
+                synchronization.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return action;
+                    }
+                });
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class, error -> action);
+    }
+}
@@ -0,0 +1,71 @@
+package com.wizlit.path.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs an array-bound ID query, splitting large ID sets into chunks.
+ *
+ * Up to chunkSize IDs go out as one statement with a single bigint[] bind.
+ * Larger sets are split into chunks and merged back in chunk order. Outside a transaction the chunks are
+ * fetched concurrently, each on its own pooled connection; inside one they all share the transaction's
+ * connection, so they are fetched one after another instead of queueing up on it.
+ */
+public final class ChunkedFetch {
+
+    private ChunkedFetch() {
+    }
+
+    public static <T> Flux<T> fetch(List<Long> ids, int chunkSize, int parallelism, Function<Long[], Flux<T>> query) {
+        if (ids.size() <= chunkSize) {
+            return query.apply(ids.toArray(Long[]::new));
+        }
+
+        List<Long[]> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())).toArray(Long[]::new));
+        }
+
+        return _fetchChunks(chunks, parallelism, query);
+    }
+
+    /**
+     * Same as {@link #fetch(List, int, int, Function)} for a primitive ID set; each chunk is boxed only for its bind.
+     */
+    public static <T> Flux<T> fetch(long[] ids, int chunkSize, int parallelism, Function<Long[], Flux<T>> query) {
+        if (ids.length <= chunkSize) {
+            return query.apply(PackedLongs.box(ids, 0, ids.length));
+        }
+
+        List<Long[]> chunks = new ArrayList<>((ids.length + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            chunks.add(PackedLongs.box(ids, from, Math.min(from + chunkSize, ids.length)));
+        }
+
+        return _fetchChunks(chunks, parallelism, query);
+    }
+
+    private static <T> Flux<T> _fetchChunks(List<Long[]> chunks, int parallelism, Function<Long[], Flux<T>> query) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .map(TransactionSynchronizationManager::isActualTransactionActive)
+            .onErrorResume(NoTransactionException.class, error -> Mono.just(false))
+            .flatMapMany(inTransaction -> inTransaction
+                ? Flux.fromIterable(chunks).concatMap(query)
+                : Flux.fromIterable(chunks).flatMapSequential(query, parallelism));
+    }
+
+    public static boolean isChunked(List<Long> ids, int chunkSize) {
+        return ids.size() > chunkSize;
+    }
+
+    public static boolean isChunked(long[] ids, int chunkSize) {
+        return ids.length > chunkSize;
+    }
+}
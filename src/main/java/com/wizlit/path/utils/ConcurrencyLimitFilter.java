@@ -0,0 +1,163 @@
+package com.wizlit.path.utils;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds load before it reaches the connection pool.
+ *
+ * Handlers are split into three groups with their own adaptive limit: writes (handlers with
+ * {@link PrivateAccess}), streams (other handlers returning a Flux, which hold their slot for the whole
+ * stream) and reads (the rest). A request over its group's limit gets an immediate 503 with Retry-After.
+ * Limits, in-flight counts and rejections are published as path.limiter.* metrics tagged by group.
+ *
+ * The latency fed to a limit runs until the response is committed, i.e. the handler and its queries up to
+ * the first body write: transferring the rest of a stream or a large body to a slow client says nothing
+ * about the load on the server.
+ */
+@Component
+@Order(0)
+public class ConcurrencyLimitFilter implements WebFilter {
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+    private static final String STREAM = "stream";
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final AdaptiveConcurrencyLimit streamLimit;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final Counter streamRejected;
+
+    public ConcurrencyLimitFilter(
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            MeterRegistry meterRegistry,
+            @Value("${app.limiter.enabled:true}") boolean enabled,
+            @Value("${app.limiter.read.initial:100}") int readInitial,
+            @Value("${app.limiter.read.max:1000}") int readMax,
+            @Value("${app.limiter.write.initial:20}") int writeInitial,
+            @Value("${app.limiter.write.max:200}") int writeMax,
+            @Value("${app.limiter.stream.initial:20}") int streamInitial,
+            @Value("${app.limiter.stream.max:200}") int streamMax,
+            @Value("${app.limiter.min:4}") int minLimit,
+            @Value("${app.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.limiter.latency-threshold-ms:1000}") long latencyThresholdMs,
+            @Value("${app.limiter.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.handlerMapping = handlerMapping;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        long latencyThresholdNanos = latencyThresholdMs * 1_000_000;
+        this.readLimit = new AdaptiveConcurrencyLimit(readInitial, minLimit, readMax, backoffRatio, latencyThresholdNanos);
+        this.writeLimit = new AdaptiveConcurrencyLimit(writeInitial, minLimit, writeMax, backoffRatio, latencyThresholdNanos);
+        this.streamLimit = new AdaptiveConcurrencyLimit(streamInitial, minLimit, streamMax, backoffRatio, latencyThresholdNanos);
+        this.readRejected = _registerMetrics(meterRegistry, READ, readLimit);
+        this.writeRejected = _registerMetrics(meterRegistry, WRITE, writeLimit);
+        this.streamRejected = _registerMetrics(meterRegistry, STREAM, streamLimit);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        return handlerMapping.getHandler(exchange)
+                .ofType(HandlerMethod.class)
+                .map(ConcurrencyLimitFilter::_group)
+                .flatMap(group -> _limited(group, exchange, chain))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private static String _group(HandlerMethod handlerMethod) {
+        if (handlerMethod.getMethod().isAnnotationPresent(PrivateAccess.class)) {
+            return WRITE;
+        }
+        return Flux.class.isAssignableFrom(handlerMethod.getMethod().getReturnType()) ? STREAM : READ;
+    }
+
+    private Mono<Void> _limited(String group, ServerWebExchange exchange, WebFilterChain chain) {
+        AdaptiveConcurrencyLimit limit = switch (group) {
+            case WRITE -> writeLimit;
+            case STREAM -> streamLimit;
+            default -> readLimit;
+        };
+        if (!limit.tryAcquire()) {
+            (WRITE.equals(group) ? writeRejected : STREAM.equals(group) ? streamRejected : readRejected).increment();
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return Mono.error(new ApiException(ErrorCode.SERVER_OVERLOADED, group, retryAfterSeconds));
+        }
+
+        long started = System.nanoTime();
+        AtomicLong committedAfter = new AtomicLong(-1);
+        exchange.getResponse().beforeCommit(() -> {
+            committedAfter.compareAndSet(-1, System.nanoTime() - started);
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnError(error -> {
+                    if (error instanceof ApiException apiException && !apiException.getErrorCode().getStatus().is5xxServerError()) {
+                        limit.onSuccess(_latency(committedAfter, started));
+                    } else {
+                        limit.onDropped();
+                    }
+                })
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limit.onIgnored();
+                    } else if (signal == SignalType.ON_COMPLETE) {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status != null && status.is5xxServerError()) {
+                            limit.onDropped();
+                        } else {
+                            limit.onSuccess(_latency(committedAfter, started));
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Time until the response was committed, or until now when it has not been (errors handled further out).
+     */
+    private static long _latency(AtomicLong committedAfter, long started) {
+        long committed = committedAfter.get();
+        return committed >= 0 ? committed : System.nanoTime() - started;
+    }
+
+    private static Counter _registerMetrics(MeterRegistry registry, String group, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("path.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("path.limiter.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("group", group)
+                .register(registry);
+        return Counter.builder("path.limiter.rejected")
+                .tag("group", group)
+                .register(registry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.wizlit.path.utils;
+
+import java.time.Duration;
+
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Request deadline carried in the Reactor Context.
+ *
+ * The deadline is stored as an absolute System.nanoTime() value together with the original budget,
+ * so every operator downstream can derive its remaining time without wall-clock reads.
+ * Publishers subscribed without a deadline in their context run unbounded.
+ */
+public final class Deadline {
+
+    public static final String CONTEXT_KEY = "deadline";
+
+    private final long expiresAtNanos;
+    private final long budgetMillis;
+
+    private Deadline(long expiresAtNanos, long budgetMillis) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.budgetMillis = budgetMillis;
+    }
+
+    public static Deadline after(long budgetMillis) {
+        return new Deadline(System.nanoTime() + budgetMillis * 1_000_000, budgetMillis);
+    }
+
+    public Context writeTo(Context context) {
+        return context.put(CONTEXT_KEY, this);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public static <T> Mono<T> bound(Mono<T> source) {
+        return Mono.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> {
+                    Duration remaining = deadline.remaining();
+                    return remaining.isZero()
+                            ? Mono.<T>error(deadline.exceeded())
+                            : source.timeout(remaining, Mono.error(deadline::exceeded));
+                })
+                .orElse(source));
+    }
+
+    public static <T> Flux<T> bound(Flux<T> source) {
+        return Flux.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> {
+                    Duration remaining = deadline.remaining();
+                    return remaining.isZero()
+                            ? Flux.<T>error(deadline.exceeded())
+                            // the timer is re-armed after every element with whatever is left of the deadline
+                            : source.timeout(Mono.delay(remaining),
+                                    element -> Mono.delay(deadline.remaining()),
+                                    Flux.error(deadline::exceeded));
+                })
+                .orElse(source));
+    }
+
+    /**
+     * Runs the source under a fresh deadline with the request's budget, started when the source is subscribed.
+     * For the rounds of a long stream (a level of a neighborhood walk): each round gets the whole budget, where
+     * one deadline shared by the stream would cut it off once the stream, including a slow reader, outlived it.
+     */
+    public static <T> Mono<T> renewed(Mono<T> source) {
+        return source.contextWrite(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> after(deadline.budgetMillis).writeTo(context))
+                .orElse(context));
+    }
+
+    private ApiException exceeded() {
+        return new ApiException(ErrorCode.DEADLINE_EXCEEDED, budgetMillis);
+    }
+}
@@ -0,0 +1,64 @@
+package com.wizlit.path.utils;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Starts the request {@link Deadline} and puts it into the Reactor Context.
+ *
+ * The budget is the handler's {@link RequestDeadline} or app.deadline.default-ms, optionally shortened
+ * by the client through X-Request-Timeout (milliseconds).
+ */
+@Component
+@Order(1)
+public class DeadlineFilter implements WebFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final long defaultMillis;
+
+    public DeadlineFilter(
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            @Value("${app.deadline.default-ms:10000}") long defaultMillis
+    ) {
+        this.handlerMapping = handlerMapping;
+        this.defaultMillis = defaultMillis;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return handlerMapping.getHandler(exchange)
+                .ofType(HandlerMethod.class)
+                .map(handlerMethod -> {
+                    RequestDeadline routeDeadline = handlerMethod.getMethod().getAnnotation(RequestDeadline.class);
+                    return routeDeadline != null ? routeDeadline.millis() : defaultMillis;
+                })
+                .defaultIfEmpty(defaultMillis)
+                .flatMap(routeMillis -> {
+                    Deadline deadline = Deadline.after(Math.min(routeMillis, requestedMillis(exchange, routeMillis)));
+                    return chain.filter(exchange).contextWrite(deadline::writeTo);
+                });
+    }
+
+    private long requestedMillis(ServerWebExchange exchange, long fallback) {
+        String header = exchange.getRequest().getHeaders().getFirst(TIMEOUT_HEADER);
+        if (header == null || header.isBlank()) {
+            return fallback;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? requested : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.wizlit.path.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the edge changes that are not in the snapshot yet, next to the snapshot file.
+ *
+ * The log is split into numbered segments (edges.csr.wal.1, .2, ...). A process appends to a new live segment;
+ * each snapshot records the first segment it does not contain, so startup replays only the segments after it,
+ * and segments before it are deleted once the snapshot is in place.
+ *
+ * A record is three longs: origin, destination, and a check word whose lowest bit is the change (1 = inserted,
+ * 0 = deleted). Replay of a segment stops at the first incomplete or mismatching record, i.e. a torn tail.
+ * Appends are not forced to disk one by one; a tail lost in a crash is caught by the fingerprint check on startup.
+ */
+public final class EdgeLog implements AutoCloseable {
+
+    private static final int RECORD_BYTES = 3 * Long.BYTES;
+    private static final long CHECK_SEED = 0x9E3779B97F4A7C15L;
+
+    public interface Replay {
+        void apply(long origin, long destination, boolean exists);
+    }
+
+    private final Path directory;
+    private final String prefix;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private long liveSequence;
+    private FileChannel live;
+
+    public EdgeLog(Path snapshotFile) throws IOException {
+        Path absolute = snapshotFile.toAbsolutePath();
+        this.directory = absolute.getParent();
+        this.prefix = absolute.getFileName() + ".wal.";
+        Files.createDirectories(directory);
+        List<Long> existing = _sequences();
+        this.liveSequence = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+        this.live = _open(liveSequence);
+    }
+
+    public synchronized long liveSequence() {
+        return liveSequence;
+    }
+
+    public synchronized void append(long origin, long destination, boolean exists) {
+        record.clear();
+        record.putLong(origin).putLong(destination).putLong(_check(origin, destination) | (exists ? 1 : 0));
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                live.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the live segment and starts the next one.
+     *
+     * @return The sequence of the new live segment; every earlier segment is complete
+     */
+    public synchronized long rotate() throws IOException {
+        live.force(false);
+        live.close();
+        live = _open(++liveSequence);
+        return liveSequence;
+    }
+
+    /**
+     * Replays the records of the complete segments from the given sequence on, oldest first.
+     */
+    public void replay(long fromSequence, Replay replay) throws IOException {
+        long liveSequence = liveSequence();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 4096);
+        for (long sequence : _sequences()) {
+            if (sequence < fromSequence || sequence >= liveSequence) continue;
+            try (FileChannel channel = FileChannel.open(_segment(sequence), StandardOpenOption.READ)) {
+                buffer.clear();
+                boolean intact = true;
+                while (intact && channel.read(buffer) > 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        long origin = buffer.getLong();
+                        long destination = buffer.getLong();
+                        long check = buffer.getLong();
+                        if ((check & ~1L) != _check(origin, destination)) {
+                            intact = false;
+                            break;
+                        }
+                        replay.apply(origin, destination, (check & 1) == 1);
+                    }
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments before the given sequence, once a snapshot contains them.
+     */
+    public void deleteBefore(long sequence) throws IOException {
+        for (long existing : _sequences()) {
+            if (existing < sequence) {
+                Files.deleteIfExists(_segment(existing));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        live.force(false);
+        live.close();
+    }
+
+    private FileChannel _open(long sequence) throws IOException {
+        return FileChannel.open(_segment(sequence),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path _segment(long sequence) {
+        return directory.resolve(prefix + sequence);
+    }
+
+    private List<Long> _sequences() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.length() > prefix.length()
+                    && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                .map(name -> Long.parseLong(name.substring(prefix.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long _check(long origin, long destination) {
+        long mixed = (origin * CHECK_SEED) ^ Long.rotateLeft(destination * CHECK_SEED, 31) ^ CHECK_SEED;
+        return mixed & ~1L;
+    }
+}
@@ -0,0 +1,308 @@
+package com.wizlit.path.utils;
+
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.EdgeFingerprint;
+
+/**
+ * An immutable edge set in compressed-sparse-row form, memory-mapped from a file instead of living on the GC heap.
+ *
+ * File layout (native-order longs):
+ * MAGIC, VERSION, logSequence, checksum, n, m, points[n], outOffsets[n + 1], targets[m], inOffsets[n + 1], sources[m].
+ * logSequence is the first {@link EdgeLog} segment whose changes are not in the snapshot; checksum is the
+ * {@link EdgeFingerprint} checksum of the edges, compared with the database when the snapshot is reopened.
+ * points are the sorted IDs of every point with an edge; row i holds the sorted destinations
+ * targets[outOffsets[i] .. outOffsets[i + 1]) of points[i], and the in-rows hold the sorted origins in the same way.
+ *
+ * The mapping is owned by an automatic arena: it is unmapped once the snapshot is unreachable,
+ * so a reader holding a replaced snapshot never sees a closed segment.
+ */
+public final class EdgeSnapshot {
+
+    private static final long MAGIC = 0x4544474543535231L; // "EDGECSR1"
+    private static final long VERSION = 3;
+    private static final int HEADER_LONGS = 6;
+
+    private final MemorySegment segment;
+    private final long logSequence;
+    private final long checksum;
+    private final long pointCount;
+    private final long edgeCount;
+    private final long pointsAt;
+    private final long outOffsetsAt;
+    private final long targetsAt;
+    private final long inOffsetsAt;
+    private final long sourcesAt;
+
+    private EdgeSnapshot(MemorySegment segment, long logSequence, long checksum, long pointCount, long edgeCount) {
+        this.segment = segment;
+        this.logSequence = logSequence;
+        this.checksum = checksum;
+        this.pointCount = pointCount;
+        this.edgeCount = edgeCount;
+        this.pointsAt = HEADER_LONGS;
+        this.outOffsetsAt = pointsAt + pointCount;
+        this.targetsAt = outOffsetsAt + pointCount + 1;
+        this.inOffsetsAt = targetsAt + edgeCount;
+        this.sourcesAt = inOffsetsAt + pointCount + 1;
+    }
+
+    /**
+     * Maps an existing snapshot file.
+     *
+     * @throws IOException if the file is missing, truncated or was written by another format or byte order
+     */
+    public static EdgeSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LONGS * Long.BYTES) {
+                throw new IOException("edge snapshot is truncated: " + file);
+            }
+            MemorySegment segment = channel.map(MapMode.READ_ONLY, 0, size, Arena.ofAuto());
+            if (segment.getAtIndex(JAVA_LONG, 0) != MAGIC || segment.getAtIndex(JAVA_LONG, 1) != VERSION) {
+                throw new IOException("not an edge snapshot of this version: " + file);
+            }
+            long logSequence = segment.getAtIndex(JAVA_LONG, 2);
+            long checksum = segment.getAtIndex(JAVA_LONG, 3);
+            long pointCount = segment.getAtIndex(JAVA_LONG, 4);
+            long edgeCount = segment.getAtIndex(JAVA_LONG, 5);
+            if (size != _longs(pointCount, edgeCount) * Long.BYTES) {
+                throw new IOException("edge snapshot is truncated: " + file);
+            }
+            return new EdgeSnapshot(segment, logSequence, checksum, pointCount, edgeCount);
+        }
+    }
+
+    /**
+     * Writes the edges as a new snapshot file and maps it. The file is written next to its target
+     * and moved into place, so a crash never leaves a partial snapshot under the final name.
+     *
+     * @param edges Edges sorted by (origin, destination), without duplicates
+     * @param logSequence First log segment whose changes are not in the edges
+     */
+    public static EdgeSnapshot write(Path file, CompactEdges edges, long logSequence) throws IOException {
+        int edgeCount = edges.size();
+        long[] points = new long[edgeCount * 2];
+        for (int i = 0; i < edgeCount; i++) {
+            points[2 * i] = edges.origin(i);
+            points[2 * i + 1] = edges.destination(i);
+        }
+        Arrays.sort(points);
+        int pointCount = _distinct(points);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (Arena arena = Arena.ofConfined();
+                 FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MemorySegment out = channel.map(MapMode.READ_WRITE, 0, _longs(pointCount, edgeCount) * Long.BYTES, arena);
+                long checksum = EdgeFingerprint.of(edges).checksum();
+                EdgeSnapshot layout = new EdgeSnapshot(out, logSequence, checksum, pointCount, edgeCount);
+                out.setAtIndex(JAVA_LONG, 0, MAGIC);
+                out.setAtIndex(JAVA_LONG, 1, VERSION);
+                out.setAtIndex(JAVA_LONG, 2, logSequence);
+                out.setAtIndex(JAVA_LONG, 3, checksum);
+                out.setAtIndex(JAVA_LONG, 4, pointCount);
+                out.setAtIndex(JAVA_LONG, 5, edgeCount);
+                MemorySegment.copy(points, 0, out, JAVA_LONG, layout.pointsAt * Long.BYTES, pointCount);
+                layout._fillRows(edges, points);
+                out.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return open(file);
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public long logSequence() {
+        return logSequence;
+    }
+
+    public EdgeFingerprint fingerprint() {
+        return new EdgeFingerprint(edgeCount, checksum);
+    }
+
+    public boolean contains(long origin, long destination) {
+        long row = _row(origin);
+        if (row < 0) {
+            return false;
+        }
+        long low = _at(outOffsetsAt + row), high = _at(outOffsetsAt + row + 1) - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long value = _at(targetsAt + middle);
+            if (value < destination) {
+                low = middle + 1;
+            } else if (value > destination) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Edges with an origin or destination in the given points, sorted by (origin, destination).
+     *
+     * @param pointIds Sorted, distinct point IDs
+     */
+    public CompactEdges edgesTouching(long[] pointIds) {
+        // every origin of a matching edge: the points themselves and the sources of their in-rows
+        LongList origins = new LongList();
+        for (long pointId : pointIds) {
+            long row = _row(pointId);
+            if (row < 0) continue;
+            origins.add(pointId);
+            for (long i = _at(inOffsetsAt + row), end = _at(inOffsetsAt + row + 1); i < end; i++) {
+                origins.add(_at(sourcesAt + i));
+            }
+        }
+        long[] candidates = origins.toArray();
+        Arrays.sort(candidates);
+        int candidateCount = _distinct(candidates);
+
+        // walking the out-rows of sorted origins emits edges already in (origin, destination) order
+        LongList edgeOrigins = new LongList();
+        LongList edgeDestinations = new LongList();
+        for (int c = 0; c < candidateCount; c++) {
+            long origin = candidates[c];
+            long row = _row(origin);
+            if (row < 0) continue;
+            boolean originMatches = Arrays.binarySearch(pointIds, origin) >= 0;
+            for (long i = _at(outOffsetsAt + row), end = _at(outOffsetsAt + row + 1); i < end; i++) {
+                long destination = _at(targetsAt + i);
+                if (originMatches || Arrays.binarySearch(pointIds, destination) >= 0) {
+                    edgeOrigins.add(origin);
+                    edgeDestinations.add(destination);
+                }
+            }
+        }
+        return CompactEdges.of(edgeOrigins.toArray(), edgeDestinations.toArray());
+    }
+
+    /**
+     * Every edge, sorted by (origin, destination); used to compact the snapshot with recent changes.
+     */
+    public CompactEdges allEdges() {
+        long[] origins = new long[Math.toIntExact(edgeCount)];
+        long[] destinations = new long[origins.length];
+        MemorySegment.copy(segment, JAVA_LONG, targetsAt * Long.BYTES, destinations, 0, destinations.length);
+        for (long row = 0; row < pointCount; row++) {
+            long origin = _at(pointsAt + row);
+            for (long i = _at(outOffsetsAt + row), end = _at(outOffsetsAt + row + 1); i < end; i++) {
+                origins[(int) i] = origin;
+            }
+        }
+        return CompactEdges.of(origins, destinations);
+    }
+
+    private void _fillRows(CompactEdges edges, long[] points) {
+        int edgeCount = edges.size();
+        // out-rows: edges are sorted by origin, so targets are the destinations in order
+        int row = 0;
+        segment.setAtIndex(JAVA_LONG, outOffsetsAt, 0);
+        for (int i = 0; i < edgeCount; i++) {
+            int originRow = Arrays.binarySearch(points, 0, (int) pointCount, edges.origin(i));
+            while (row < originRow) {
+                segment.setAtIndex(JAVA_LONG, outOffsetsAt + ++row, i);
+            }
+            segment.setAtIndex(JAVA_LONG, targetsAt + i, edges.destination(i));
+        }
+        while (row < pointCount) {
+            segment.setAtIndex(JAVA_LONG, outOffsetsAt + ++row, edgeCount);
+        }
+
+        // in-rows: count per destination, prefix-sum, then place origins in edge order (ascending per row)
+        for (long i = 0; i <= pointCount; i++) {
+            segment.setAtIndex(JAVA_LONG, inOffsetsAt + i, 0);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            long slot = inOffsetsAt + Arrays.binarySearch(points, 0, (int) pointCount, edges.destination(i)) + 1;
+            segment.setAtIndex(JAVA_LONG, slot, segment.getAtIndex(JAVA_LONG, slot) + 1);
+        }
+        for (long i = 1; i <= pointCount; i++) {
+            segment.setAtIndex(JAVA_LONG, inOffsetsAt + i, _at(inOffsetsAt + i) + _at(inOffsetsAt + i - 1));
+        }
+        long[] cursors = new long[(int) pointCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int destinationRow = Arrays.binarySearch(points, 0, (int) pointCount, edges.destination(i));
+            long slot = _at(inOffsetsAt + destinationRow) + cursors[destinationRow]++;
+            segment.setAtIndex(JAVA_LONG, sourcesAt + slot, edges.origin(i));
+        }
+    }
+
+    /**
+     * Row of the point in points[], or -1 if it has no edge in this snapshot.
+     */
+    private long _row(long pointId) {
+        long low = 0, high = pointCount - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long value = _at(pointsAt + middle);
+            if (value < pointId) {
+                low = middle + 1;
+            } else if (value > pointId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private long _at(long index) {
+        return segment.getAtIndex(JAVA_LONG, index);
+    }
+
+    private static long _longs(long pointCount, long edgeCount) {
+        return HEADER_LONGS + pointCount + (pointCount + 1) + edgeCount + (pointCount + 1) + edgeCount;
+    }
+
+    /**
+     * Moves the distinct values of a sorted array to its front and returns how many there are.
+     */
+    private static int _distinct(long[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count;
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.wizlit.path.utils;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts the {@link EdgeSnapshotStore} under EdgeRepository, so EdgeManager keeps its repository rules unchanged:
+ * compact edge-by-point reads are answered from the snapshot once it is loaded. Edge writes reach its delta through
+ * {@link EdgeWriteAspect}. Reads returning Edge entities (findAllByPointIdIn) stay on the table, since the snapshot
+ * keeps endpoints only and the entities carry the weight.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.edge-snapshot.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class EdgeSnapshotAspect {
+
+    private final EdgeSnapshotStore edgeSnapshotStore;
+
+    @Pointcut("this(com.wizlit.path.repository.EdgeRepository)")
+    public void edgeRepository() {}
+
+    @Around("edgeRepository() && execution(* findColumnsByPointIdIn(..)) && args(points)")
+    public Object findColumns(ProceedingJoinPoint jp, Long[] points) throws Throwable {
+        if (!edgeSnapshotStore.isLoaded()) {
+            return jp.proceed();
+        }
+        return Mono.fromSupplier(() -> edgeSnapshotStore.edgesTouching(points).encode());
+    }
+}
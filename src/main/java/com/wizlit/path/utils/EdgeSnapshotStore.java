@@ -0,0 +1,313 @@
+package com.wizlit.path.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.EdgeFingerprint;
+import com.wizlit.path.service.manager.EdgeManager;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serves edge reads from a memory-mapped {@link EdgeSnapshot} plus an on-heap delta of committed changes.
+ *
+ * Every change entering the delta is appended to the {@link EdgeLog} first. Once the delta reaches the compaction
+ * threshold, and at every checkpoint interval, snapshot and delta are merged into a new snapshot file in the
+ * background and swapped in, and the log segments it contains are deleted.
+ *
+ * A restarted node maps its snapshot back in and replays the log tail after it; one fingerprint query (edge count
+ * and content checksum, see {@link EdgeFingerprint}) then confirms that snapshot plus log match the database.
+ * Only without a usable snapshot, or on a mismatch (e.g. a crash lost the log tail, or edges changed while the
+ * node was down), is the snapshot rebuilt from a full edge scan. Until it is loaded, reads return null and go to
+ * the database.
+ *
+ * Only changes made through this node reach the delta, so the snapshot is for a single application node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.edge-snapshot.enabled", havingValue = "true")
+public class EdgeSnapshotStore implements EdgeWriteListener {
+
+    private final ObjectProvider<EdgeManager> edgeManager;
+    private final Path file;
+    private final int compactThreshold;
+    private final Duration checkpointInterval;
+    private final EdgeLog edgeLog;
+
+    private final AtomicReference<EdgeSnapshot> snapshot = new AtomicReference<>();
+    // committed changes not yet in the snapshot: true = edge exists, false = edge deleted
+    private final Map<EdgeKey, Boolean> delta = new ConcurrentHashMap<>();
+    // appending a change and putting it into the delta happen together, before or after a log rotation
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Disposable checkpoints;
+
+    public EdgeSnapshotStore(
+            ObjectProvider<EdgeManager> edgeManager,
+            @Value("${app.edge-snapshot.file:data/edges.csr}") String file,
+            @Value("${app.edge-snapshot.compact-threshold:10000}") int compactThreshold,
+            @Value("${app.edge-snapshot.checkpoint-seconds:600}") long checkpointSeconds
+    ) throws IOException {
+        // EdgeManager is resolved lazily: its repository is advised by EdgeSnapshotAspect and EdgeWriteAspect, which need this store
+        this.edgeManager = edgeManager;
+        this.file = Path.of(file);
+        this.compactThreshold = Math.max(1, compactThreshold);
+        this.checkpointInterval = Duration.ofSeconds(Math.max(1, checkpointSeconds));
+        this.edgeLog = new EdgeLog(this.file);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        _rebuild(false);
+        // checkpoint pending changes; a load that failed (e.g. database unavailable) is retried
+        checkpoints = Flux.interval(checkpointInterval)
+            .filter(tick -> !isLoaded() || !delta.isEmpty())
+            .subscribe(tick -> _rebuild(isLoaded()));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (checkpoints != null) {
+            checkpoints.dispose();
+        }
+        edgeLog.close();
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Edges with an origin or destination in the given points, sorted by (origin, destination).
+     *
+     * @return The edges, or null if no snapshot is loaded yet
+     */
+    public CompactEdges edgesTouching(Long[] pointIds) {
+        EdgeSnapshot current = snapshot.get();
+        if (current == null) {
+            return null;
+        }
+        long[] ids = Arrays.stream(pointIds).mapToLong(Long::longValue).sorted().distinct().toArray();
+        CompactEdges edges = current.edgesTouching(ids);
+        if (delta.isEmpty()) {
+            return edges;
+        }
+
+        List<EdgeKey> added = new ArrayList<>();
+        Set<EdgeKey> deleted = new HashSet<>();
+        delta.forEach((key, exists) -> {
+            if (Arrays.binarySearch(ids, key.origin()) >= 0 || Arrays.binarySearch(ids, key.destination()) >= 0) {
+                (exists ? added : deleted).add(key);
+            }
+        });
+        return _apply(edges, added, deleted);
+    }
+
+    /**
+     * Records inserted (exists = true) or deleted edges once the current transaction commits,
+     * or right away when there is no transaction. The log append is file I/O, so it runs on boundedElastic.
+     */
+    @Override
+    public Mono<Void> record(List<Edge> edges, boolean exists) {
+        Runnable apply = () -> {
+            changeLock.lock();
+            try {
+                for (Edge edge : edges) {
+                    edgeLog.append(edge.getOriginPoint(), edge.getDestinationPoint(), exists);
+                    delta.put(new EdgeKey(edge.getOriginPoint(), edge.getDestinationPoint()), exists);
+                }
+            } finally {
+                changeLock.unlock();
+            }
+            if (delta.size() >= compactThreshold && isLoaded()) {
+                _rebuild(true);
+            }
+        };
+
+        return AfterCommit.run(apply, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Runs one rebuild at a time in the background: loading on startup, or compaction.
+     * Delta entries folded into the new snapshot are dropped afterwards unless they changed in the meantime.
+     */
+    private void _rebuild(boolean compact) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.defer(() -> compact ? Mono.fromCallable(this::_compact) : _load())
+            .subscribeOn(Schedulers.boundedElastic())
+            .doFinally(signal -> {
+                rebuilding.set(false);
+                // changes recorded while this rebuild ran may have crossed the threshold without starting one
+                if (signal == SignalType.ON_COMPLETE && delta.size() >= compactThreshold && isLoaded()) {
+                    _rebuild(true);
+                }
+            })
+            .subscribe(
+                rebuilt -> {
+                    snapshot.set(rebuilt.snapshot());
+                    rebuilt.folded().forEach(delta::remove);
+                    try {
+                        edgeLog.deleteBefore(rebuilt.snapshot().logSequence());
+                    } catch (IOException e) {
+                        log.warn("Edge log segments before {} not deleted", rebuilt.snapshot().logSequence(), e);
+                    }
+                    log.info("Edge snapshot {} loaded: {} edges, {} pending changes", file, rebuilt.snapshot().edgeCount(), delta.size());
+                },
+                error -> log.warn("Edge snapshot {} not rebuilt, edge reads stay on the previous source", file, error));
+    }
+
+    private Mono<Rebuilt> _load() {
+        EdgeSnapshot existing = null;
+        if (Files.exists(file)) {
+            try {
+                existing = EdgeSnapshot.open(file);
+            } catch (IOException e) {
+                log.warn("Edge snapshot {} unreadable, rebuilding: {}", file, e.getMessage());
+            }
+        }
+        if (existing == null) {
+            return _scan();
+        }
+
+        // changes of earlier runs; the delta already holds this run's newer ones
+        Map<EdgeKey, Boolean> replayed = new HashMap<>();
+        try {
+            edgeLog.replay(existing.logSequence(), (origin, destination, exists) -> replayed.put(new EdgeKey(origin, destination), exists));
+        } catch (IOException e) {
+            log.warn("Edge log of {} unreadable, rebuilding: {}", file, e.getMessage());
+            return _scan();
+        }
+
+        EdgeSnapshot mapped = existing;
+        return edgeManager.getObject().fingerprintEdges()
+            .flatMap(fingerprint -> {
+                if (!fingerprint.equals(_fingerprintWith(mapped, replayed))) {
+                    log.warn("Edge snapshot {} and its log do not match the database ({} edges), rebuilding", file, fingerprint.edgeCount());
+                    return _scan();
+                }
+                replayed.forEach(delta::putIfAbsent);
+                return Mono.just(new Rebuilt(mapped, Map.of()));
+            });
+    }
+
+    private Mono<Rebuilt> _scan() {
+        // every change in the segments before the rotation was committed before the scan starts
+        long sequence;
+        try {
+            sequence = edgeLog.rotate();
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+        return edgeManager.getObject().findAllCompactEdges()
+            .map(edges -> new Rebuilt(_write(edges, sequence), Map.of()));
+    }
+
+    private Rebuilt _compact() throws IOException {
+        Map<EdgeKey, Boolean> captured;
+        long sequence;
+        changeLock.lock();
+        try {
+            captured = Map.copyOf(delta);
+            sequence = edgeLog.rotate();
+        } finally {
+            changeLock.unlock();
+        }
+
+        List<EdgeKey> added = new ArrayList<>();
+        Set<EdgeKey> deleted = new HashSet<>();
+        captured.forEach((key, exists) -> (exists ? added : deleted).add(key));
+        return new Rebuilt(_write(_apply(snapshot.get().allEdges(), added, deleted), sequence), captured);
+    }
+
+    /**
+     * Fingerprint of the snapshot with the replayed and current changes applied.
+     */
+    private EdgeFingerprint _fingerprintWith(EdgeSnapshot existing, Map<EdgeKey, Boolean> replayed) {
+        Map<EdgeKey, Boolean> changes = new HashMap<>(replayed);
+        changes.putAll(delta);
+        EdgeFingerprint fingerprint = existing.fingerprint();
+        for (Map.Entry<EdgeKey, Boolean> change : changes.entrySet()) {
+            EdgeKey key = change.getKey();
+            boolean inSnapshot = existing.contains(key.origin(), key.destination());
+            if (change.getValue() && !inSnapshot) {
+                fingerprint = fingerprint.plus(key.origin(), key.destination());
+            } else if (!change.getValue() && inSnapshot) {
+                fingerprint = fingerprint.minus(key.origin(), key.destination());
+            }
+        }
+        return fingerprint;
+    }
+
+    private EdgeSnapshot _write(CompactEdges edges, long logSequence) {
+        try {
+            return EdgeSnapshot.write(file, edges, logSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot write edge snapshot " + file, e);
+        }
+    }
+
+    private static CompactEdges _apply(CompactEdges edges, List<EdgeKey> added, Set<EdgeKey> deleted) {
+        int kept = 0;
+        long[] origins = new long[edges.size()];
+        long[] destinations = new long[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            if (!deleted.contains(new EdgeKey(edges.origin(i), edges.destination(i)))) {
+                origins[kept] = edges.origin(i);
+                destinations[kept] = edges.destination(i);
+                kept++;
+            }
+        }
+
+        added.sort(Comparator.comparingLong(EdgeKey::origin).thenComparingLong(EdgeKey::destination));
+        long[] addedOrigins = new long[added.size()];
+        long[] addedDestinations = new long[added.size()];
+        for (int i = 0; i < added.size(); i++) {
+            addedOrigins[i] = added.get(i).origin();
+            addedDestinations[i] = added.get(i).destination();
+        }
+
+        // merge drops an added edge that the snapshot already contains
+        return CompactEdges.merge(List.of(
+            CompactEdges.of(Arrays.copyOf(origins, kept), Arrays.copyOf(destinations, kept)),
+            CompactEdges.of(addedOrigins, addedDestinations)));
+    }
+
+    private record EdgeKey(long origin, long destination) {
+    }
+
+    private record Rebuilt(EdgeSnapshot snapshot, Map<EdgeKey, Boolean> folded) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.wizlit.path.utils;
+
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import com.wizlit.path.entity.Edge;
+
+import lombok.RequiredArgsConstructor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Feeds the edge writes of EdgeRepository to every {@link EdgeWriteListener}, so EdgeManager keeps its repository
+ * rules unchanged and the edge snapshot and cached layouts follow inserts and deletes from one set of pointcuts.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class EdgeWriteAspect {
+
+    private final List<EdgeWriteListener> listeners;
+
+    @Pointcut("this(com.wizlit.path.repository.EdgeRepository)")
+    public void edgeRepository() {}
+
+    @Around("edgeRepository() && (execution(* save(..)) || execution(* insertIfAbsent(..)))")
+    public Object recordInserted(ProceedingJoinPoint jp) throws Throwable {
+        @SuppressWarnings("unchecked")
+        Mono<Edge> inserted = (Mono<Edge>) jp.proceed();
+        return inserted.flatMap(edge -> _notify(List.of(edge), true).thenReturn(edge));
+    }
+
+    @Around("edgeRepository() && execution(* insertAll(..))")
+    public Object recordAllInserted(ProceedingJoinPoint jp) throws Throwable {
+        @SuppressWarnings("unchecked")
+        Flux<Edge> inserted = (Flux<Edge>) jp.proceed();
+        return inserted.collectList()
+            .flatMapMany(edges -> _notify(edges, true).thenMany(Flux.fromIterable(edges)));
+    }
+
+    @Around("edgeRepository() && execution(* deleteByOriginPointAndDestinationPoint(..)) && args(originPoint, destinationPoint)")
+    public Object recordDeleted(ProceedingJoinPoint jp, Long originPoint, Long destinationPoint) throws Throwable {
+        @SuppressWarnings("unchecked")
+        Mono<Void> deleted = (Mono<Void>) jp.proceed();
+        return deleted.then(_notify(List.of(new Edge(originPoint, destinationPoint)), false));
+    }
+
+    private Mono<Void> _notify(List<Edge> edges, boolean exists) {
+        return Flux.fromIterable(listeners)
+            .concatMap(listener -> listener.record(edges, exists))
+            .then();
+    }
+}
@@ -0,0 +1,20 @@
+package com.wizlit.path.utils;
+
+import java.util.List;
+
+import com.wizlit.path.entity.Edge;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps derived edge state (the edge snapshot, cached project layouts) in step with the edge table.
+ * Every bean implementing it is notified of the edge writes of EdgeRepository by {@link EdgeWriteAspect}.
+ */
+public interface EdgeWriteListener {
+
+    /**
+     * Applies inserted (exists = true) or deleted edges once the current transaction commits,
+     * or right away when there is no transaction.
+     */
+    Mono<Void> record(List<Edge> edges, boolean exists);
+}
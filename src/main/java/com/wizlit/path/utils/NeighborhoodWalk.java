@@ -0,0 +1,76 @@
+package com.wizlit.path.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.NeighborhoodLevel;
+import com.wizlit.path.model.TraversalDirection;
+
+/**
+ * Breadth-first walk out of one point, one level per step.
+ *
+ * Each step is given the edges touching the previous level's points (one edge read per level) and keeps
+ * those leading in the walked direction. Every point is reached once and every kept edge is emitted once,
+ * so the levels together form the subgraph within the hop limit. Not thread-safe: steps run one after another.
+ */
+public final class NeighborhoodWalk {
+
+    private final long startPointId;
+    private final TraversalDirection direction;
+    private final Set<Long> reached = new HashSet<>();
+    private final Set<Long> expanded = new HashSet<>();
+
+    public NeighborhoodWalk(long startPointId, TraversalDirection direction) {
+        this.startPointId = startPointId;
+        this.direction = direction;
+    }
+
+    public NeighborhoodLevel start() {
+        reached.add(startPointId);
+        return new NeighborhoodLevel(0, new long[] { startPointId }, CompactEdges.empty());
+    }
+
+    /**
+     * Next level after the given one.
+     *
+     * @param level the last level returned
+     * @param touching edges touching any point of that level, sorted by (origin, destination)
+     */
+    public NeighborhoodLevel next(NeighborhoodLevel level, CompactEdges touching) {
+        Set<Long> frontier = new HashSet<>();
+        for (long pointId : level.pointIds()) {
+            frontier.add(pointId);
+        }
+
+        TreeSet<Long> found = new TreeSet<>();
+        long[] origins = new long[touching.size()];
+        long[] destinations = new long[touching.size()];
+        int kept = 0;
+        for (int i = 0; i < touching.size(); i++) {
+            long origin = touching.origin(i);
+            long destination = touching.destination(i);
+            // walking both ways, an edge into an already expanded point was emitted when that point was expanded
+            boolean outgoing = direction.followsOutgoing() && frontier.contains(origin)
+                && !(direction == TraversalDirection.BOTH && expanded.contains(destination));
+            boolean incoming = direction.followsIncoming() && frontier.contains(destination)
+                && !(direction == TraversalDirection.BOTH && expanded.contains(origin));
+            if (!outgoing && !incoming) {
+                continue;
+            }
+            if (outgoing && !reached.contains(destination)) found.add(destination);
+            if (incoming && !reached.contains(origin)) found.add(origin);
+            origins[kept] = origin;
+            destinations[kept++] = destination;
+        }
+
+        reached.addAll(found);
+        expanded.addAll(frontier);
+        return new NeighborhoodLevel(
+            level.hop() + 1,
+            found.stream().mapToLong(Long::longValue).toArray(),
+            CompactEdges.of(Arrays.copyOf(origins, kept), Arrays.copyOf(destinations, kept)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.wizlit.path.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+/**
+ * ID sets as primitive long[] on the read path.
+ *
+ * Queries aggregate IDs with string_agg(int8send(id), ''::bytea), which arrives as one byte[] of
+ * big-endian int8 values and is unpacked with a single bulk get, so no Long is boxed per element.
+ * Binds still need Long[] (the driver has no primitive array codec); {@link #box} does that per chunk.
+ */
+public final class PackedLongs {
+
+    private static final long[] EMPTY = new long[0];
+
+    private PackedLongs() {
+    }
+
+    public static long[] unpack(byte[] packed) {
+        if (packed == null || packed.length == 0) {
+            return EMPTY;
+        }
+        long[] values = new long[packed.length / Long.BYTES];
+        ByteBuffer.wrap(packed).asLongBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Inverse of {@link #unpack}: big-endian int8 values, as int8send produces them.
+     */
+    public static byte[] pack(long[] values) {
+        byte[] packed = new byte[values.length * Long.BYTES];
+        ByteBuffer.wrap(packed).asLongBuffer().put(values);
+        return packed;
+    }
+
+    public static Long[] box(long[] values, int from, int to) {
+        Long[] boxed = new Long[to - from];
+        for (int i = from; i < to; i++) {
+            boxed[i - from] = values[i];
+        }
+        return boxed;
+    }
+
+    public static long[] of(List<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static String toString(long[] values) {
+        return Arrays.toString(values);
+    }
+
+    /**
+     * Maps packed bytea columns onto long[] properties of query results (e.g. PointDto.memoIdsInOrder).
+     */
+    @ReadingConverter
+    public static final class Reader implements Converter<byte[], long[]> {
+        @Override
+        public long[] convert(byte[] source) {
+            return unpack(source);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wizlit.path.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+
+/**
+ * Response encodings offered through content negotiation: JSON, CBOR and Smile.
+ *
+ * The binary mappers are copies of the application ObjectMapper, so modules and inclusion rules
+ * (e.g. NON_NULL on the DTOs) are identical across formats.
+ */
+@Component
+public class PayloadCodec {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private final Map<MediaType, ObjectMapper> mappers;
+
+    public PayloadCodec(ObjectMapper mapper) {
+        this.mappers = Map.of(
+            MediaType.APPLICATION_JSON, mapper,
+            MediaType.APPLICATION_CBOR, mapper.copyWith(new CBORFactory()),
+            APPLICATION_SMILE, mapper.copyWith(new SmileFactory())
+        );
+    }
+
+    public ObjectMapper mapperFor(MediaType mediaType) {
+        return mappers.get(mediaType);
+    }
+
+    /**
+     * Picks the supported format the client prefers most, JSON when the Accept header allows anything.
+     */
+    public MediaType negotiate(List<MediaType> accept) {
+        if (accept == null || accept.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> preferred = new ArrayList<>(accept);
+        MimeTypeUtils.sortBySpecificity(preferred);
+        for (MediaType requested : preferred) {
+            for (MediaType supported : SUPPORTED) {
+                if (requested.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public byte[] encode(MediaType mediaType, Object value) {
+        try {
+            return mappers.get(mediaType).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(ErrorCode.INTERNAL_SERVER, e.getMessage());
+        }
+    }
+}
@@ -19,6 +19,7 @@ import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.net.InetSocketAddress;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Base64;
@@ -42,12 +43,23 @@ public class PrivateAccessFilter implements WebFilter {
     private final ObjectMapper mapper = new ObjectMapper();
     private final GoogleService googleService;
     private final boolean developerMode;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final boolean rateLimitEnabled;
+    private final double defaultPerSecond;
+    private final int defaultBurst;
+    private final boolean limitPublicByAddress;
 
     public PrivateAccessFilter(
             @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
             @Value("${app.privateAccess.allowedEmails}") String emails,
             @Value("${app.developerMode:false}") boolean developerMode,
-            GoogleService googleService
+            GoogleService googleService,
+            TokenBucketRateLimiter rateLimiter,
+            @Value("${app.rate-limit.enabled:true}") boolean rateLimitEnabled,
+            @Value("${app.rate-limit.per-second:20}") double defaultPerSecond,
+            @Value("${app.rate-limit.burst:40}") int defaultBurst,
+            @Value("${app.rate-limit.public-by-address:false}") boolean publicByAddress,
+            @Value("${server.forward-headers-strategy:none}") String forwardHeadersStrategy
     ) {
         this.handlerMapping = handlerMapping;
         this.allowedEmails = Arrays.stream(emails.split(","))
@@ -56,6 +68,12 @@ public class PrivateAccessFilter implements WebFilter {
                 .collect(Collectors.toSet());
         this.googleService = googleService;
         this.developerMode = developerMode;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.defaultPerSecond = defaultPerSecond;
+        this.defaultBurst = defaultBurst;
+        // without a trusted proxy rewriting the remote address, every client behind one proxy or NAT shares a bucket
+        this.limitPublicByAddress = publicByAddress && !"none".equalsIgnoreCase(forwardHeadersStrategy.trim());
     }
 
     @Override
@@ -88,9 +106,12 @@ public class PrivateAccessFilter implements WebFilter {
                             exchange.getAttributes().put("name", "Developer");
                             exchange.getAttributes().put("avatar", "https://picsum.photos/200");
                             exchange.getAttributes().put("token", "developer-mode-token");
-                            return chain.filter(exchange);
+                            return checkRateLimit(handlerMethod, DEVELOPER_EMAIL, exchange, chain);
                         }
                         return authenticate(exchange, chain);
+                    } else if (limitPublicByAddress && handlerMethod.getMethod().isAnnotationPresent(RateLimited.class)) {
+                        // public route: the only identity available is the (forwarded) client address
+                        return checkRateLimit(handlerMethod, clientAddress(exchange), exchange, chain);
                     } else {
                         return chain.filter(exchange);
                     }
@@ -133,15 +154,10 @@ public class PrivateAccessFilter implements WebFilter {
 
     private Mono<Void> processJwtToken(String token, ServerWebExchange exchange, WebFilterChain chain) {
         try {
-            String[] parts = token.split("\\.");
-            if (parts.length < 2) {
+            JsonNode payload = decodeJwtPayload(mapper, token);
+            if (payload == null) {
                 return Mono.error(new ApiException(ErrorCode.INVALID_TOKEN));
             }
-            String payloadJson = new String(
-                    Base64.getUrlDecoder().decode(parts[1]),
-                    StandardCharsets.UTF_8
-            );
-            JsonNode payload = mapper.readTree(payloadJson);
             long exp = payload.get("exp").asLong();
             if (exp < Instant.now().getEpochSecond()) {
                 return Mono.error(new ApiException(ErrorCode.EXPIRED_TOKEN));
@@ -155,6 +171,22 @@ public class PrivateAccessFilter implements WebFilter {
         }
     }
 
+    /**
+     * Decodes the payload segment of a JWT without verifying it; null when the token has no payload segment.
+     * Package-private so the decode cost can be benchmarked on its own.
+     */
+    static JsonNode decodeJwtPayload(ObjectMapper mapper, String token) throws IOException {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        String payloadJson = new String(
+                Base64.getUrlDecoder().decode(parts[1]),
+                StandardCharsets.UTF_8
+        );
+        return mapper.readTree(payloadJson);
+    }
+
     private Mono<Void> validateAndProceed(String email, String name, String avatar, String token, ServerWebExchange exchange, WebFilterChain chain) {
         if (!allowedEmails.contains("*") && !allowedEmails.contains(email)) {
             return Mono.error(new ApiException(ErrorCode.INACCESSIBLE_USER));
@@ -172,10 +204,38 @@ public class PrivateAccessFilter implements WebFilter {
                     exchange.getAttributes().put("name", name);
                     exchange.getAttributes().put("avatar", avatar);
                     exchange.getAttributes().put("token", token);
-                    return chain.filter(exchange);
+                    return checkRateLimit(handlerMethod, email, exchange, chain);
                 });
     }
 
+    private Mono<Void> checkRateLimit(HandlerMethod handlerMethod, String identity, ServerWebExchange exchange, WebFilterChain chain) {
+        if (!rateLimitEnabled) {
+            return chain.filter(exchange);
+        }
+        RateLimited rateLimited = handlerMethod.getMethod().getAnnotation(RateLimited.class);
+        // a method name alone may repeat across controllers, so the declaring class is part of the key
+        String route = handlerMethod.getMethod().getDeclaringClass().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        long waitNanos = rateLimited != null
+                ? rateLimiter.tryAcquire(identity, route, rateLimited.perSecond(), rateLimited.burst())
+                : rateLimiter.tryAcquire(identity, route, defaultPerSecond, defaultBurst);
+        if (waitNanos > 0) {
+            long waitMillis = Math.max(1, waitNanos / 1_000_000);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+            return Mono.error(new ApiException(ErrorCode.RATE_LIMITED, route, waitMillis));
+        }
+        return chain.filter(exchange);
+    }
+
+    /**
+     * The peer address of the connection. Client-supplied X-Forwarded-For headers are not read here; public routes
+     * are only limited by it when server.forward-headers-strategy is set, so that ForwardedHeaderTransformer (or the
+     * server itself) has replaced the proxy's address with the forwarded client address before this filter runs.
+     */
+    private String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+
 //    private Mono<Void> authenticate(ServerWebExchange exchange, WebFilterChain chain) {
 //        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 //
@@ -0,0 +1,410 @@
+package com.wizlit.path.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.GraphLayout;
+import com.wizlit.path.model.domain.EdgeDto;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Topological order and layers of project graphs, cached per project and kept up to date edge by edge.
+ *
+ * A project graph is the project's points plus every edge touching one of them (the edges of a project response).
+ * Its version is a fingerprint summed over point and edge hashes: a read passes in the graph it has just loaded and
+ * gets the cached layout when the fingerprints match, or a layout computed from scratch when they do not.
+ *
+ * Committed edge inserts and deletes ({@link EdgeWriteAspect}) are applied to every cached graph they touch:
+ * an insert reorders only the points between its endpoints (Pearce-Kelly) and raises the layers below it,
+ * a delete keeps the order and lowers the layers below it. Changes this node does not see (other nodes,
+ * cascading point deletes) simply show up as a fingerprint mismatch on the next read.
+ */
+@Component
+public class ProjectLayoutCache implements EdgeWriteListener {
+
+    private final Map<Long, Graph> graphs; // least recently read first, guarded by itself
+    private final int capacity;
+
+    public ProjectLayoutCache(@Value("${app.layout.cache-size:256}") int capacity) {
+        this.capacity = capacity;
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Graph> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the layout, or null if the graph has a cycle
+     */
+    public GraphLayout layoutOf(Long projectId, long[] pointIds, CompactEdges edges) {
+        return _layoutOf(projectId, pointIds, edges.size(), edges::origin, edges::destination);
+    }
+
+    /**
+     * @return the layout, or null if the graph has a cycle
+     */
+    public GraphLayout layoutOf(Long projectId, long[] pointIds, List<EdgeDto> edges) {
+        return _layoutOf(projectId, pointIds, edges.size(),
+            i -> Long.parseLong(edges.get(i).getOrigin()),
+            i -> Long.parseLong(edges.get(i).getDestination()));
+    }
+
+    /**
+     * Applies inserted (exists = true) or deleted edges to the cached graphs once the current transaction commits.
+     */
+    @Override
+    public Mono<Void> record(List<Edge> edges, boolean exists) {
+        return AfterCommit.run(() -> _apply(edges, exists));
+    }
+
+    private GraphLayout _layoutOf(Long projectId, long[] pointIds, int edgeCount, IntToLongFunction origin, IntToLongFunction destination) {
+        long fingerprint = 0;
+        for (long pointId : pointIds) {
+            fingerprint += _pointHash(pointId);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            fingerprint += _edgeHash(origin.applyAsLong(i), destination.applyAsLong(i));
+        }
+
+        Graph cached;
+        synchronized (graphs) {
+            cached = graphs.get(projectId);
+        }
+        if (cached != null) {
+            synchronized (cached) {
+                if (cached.fingerprint == fingerprint) {
+                    return cached.layout();
+                }
+            }
+        }
+
+        Graph graph = Graph.build(pointIds, edgeCount, origin, destination, fingerprint);
+        if (capacity > 0 && !graph.cyclic) {
+            synchronized (graphs) {
+                graphs.put(projectId, graph);
+            }
+        }
+        synchronized (graph) {
+            return graph.layout();
+        }
+    }
+
+    private void _apply(List<Edge> edges, boolean exists) {
+        List<Map.Entry<Long, Graph>> cached;
+        synchronized (graphs) {
+            cached = new ArrayList<>(graphs.entrySet());
+        }
+        for (Map.Entry<Long, Graph> entry : cached) {
+            Graph graph = entry.getValue();
+            boolean tracked;
+            synchronized (graph) {
+                tracked = graph.apply(edges, exists);
+            }
+            if (!tracked) {
+                synchronized (graphs) {
+                    graphs.remove(entry.getKey(), graph);
+                }
+            }
+        }
+    }
+
+    private static long _pointHash(long pointId) {
+        return _mix(pointId);
+    }
+
+    private static long _edgeHash(long origin, long destination) {
+        return _mix(_mix(origin) ^ (destination * 0x9E3779B97F4A7C15L));
+    }
+
+    // MurmurHash3 fmix64
+    private static long _mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static final class Node {
+        final long pointId;
+        final Set<Node> out = new HashSet<>();
+        final Set<Node> in = new HashSet<>();
+        int position;
+        int layer;
+        int pending; // incoming edges not yet ordered, only while building
+
+        Node(long pointId, int position) {
+            this.pointId = pointId;
+            this.position = position;
+        }
+    }
+
+    private static final Comparator<Node> BY_POSITION = Comparator.comparingInt(node -> node.position);
+
+    /**
+     * One project graph; every method is called with the graph's monitor held.
+     */
+    private static final class Graph {
+        final Set<Long> members = new HashSet<>();
+        final Map<Long, Node> nodes = new HashMap<>();
+        long fingerprint;
+        int nextPosition;
+        boolean cyclic;
+        GraphLayout layout; // null until first read after a change
+
+        static Graph build(long[] pointIds, int edgeCount, IntToLongFunction origin, IntToLongFunction destination, long fingerprint) {
+            Graph graph = new Graph();
+            graph.fingerprint = fingerprint;
+            for (long pointId : pointIds) {
+                graph.members.add(pointId);
+                graph._node(pointId);
+            }
+            for (int i = 0; i < edgeCount; i++) {
+                Node from = graph._node(origin.applyAsLong(i));
+                Node to = graph._node(destination.applyAsLong(i));
+                if (from.out.add(to)) {
+                    to.in.add(from);
+                }
+            }
+            graph._sort();
+            return graph;
+        }
+
+        GraphLayout layout() {
+            if (cyclic) {
+                return null;
+            }
+            if (layout == null) {
+                List<Node> ordered = new ArrayList<>(nodes.values());
+                ordered.sort(BY_POSITION);
+                long[] order = new long[ordered.size()];
+                int[] layers = new int[ordered.size()];
+                List<Long> roots = new ArrayList<>();
+                List<Long> leaves = new ArrayList<>();
+                for (int i = 0; i < order.length; i++) {
+                    Node node = ordered.get(i);
+                    order[i] = node.pointId;
+                    layers[i] = node.layer;
+                    if (node.in.isEmpty()) roots.add(node.pointId);
+                    if (node.out.isEmpty()) leaves.add(node.pointId);
+                }
+                layout = new GraphLayout(order,
+                    layers,
+                    roots.stream().mapToLong(Long::longValue).toArray(),
+                    leaves.stream().mapToLong(Long::longValue).toArray());
+            }
+            return layout;
+        }
+
+        /**
+         * @return false if the graph can no longer be kept up to date and has to be dropped
+         */
+        boolean apply(List<Edge> edges, boolean exists) {
+            for (Edge edge : edges) {
+                long origin = edge.getOriginPoint();
+                long destination = edge.getDestinationPoint();
+                if (!members.contains(origin) && !members.contains(destination)) {
+                    continue;
+                }
+                if (!(exists ? _insert(origin, destination) : _delete(origin, destination))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean _insert(long origin, long destination) {
+            Node from = _node(origin);
+            Node to = _node(destination);
+            if (!from.out.add(to)) {
+                return true;
+            }
+            to.in.add(from);
+            fingerprint += _edgeHash(origin, destination);
+            layout = null;
+
+            if (from.position > to.position && !_reorder(from, to)) {
+                cyclic = true;
+                return false;
+            }
+            _raiseLayers(to, from.layer + 1);
+            return true;
+        }
+
+        private boolean _delete(long origin, long destination) {
+            Node from = nodes.get(origin);
+            Node to = nodes.get(destination);
+            if (from == null || to == null || !from.out.remove(to)) {
+                return true;
+            }
+            to.in.remove(from);
+            fingerprint -= _edgeHash(origin, destination);
+            layout = null;
+
+            // the order stays valid without the edge; only layers below it can drop
+            _lowerLayers(to);
+            _dropIfDetached(from);
+            _dropIfDetached(to);
+            return true;
+        }
+
+        private Node _node(long pointId) {
+            return nodes.computeIfAbsent(pointId, id -> new Node(id, nextPosition++));
+        }
+
+        /**
+         * Kahn's algorithm, smallest point ID first among the ready points; layers follow the longest incoming path.
+         */
+        private void _sort() {
+            PriorityQueue<Node> ready = new PriorityQueue<>(Comparator.comparingLong(node -> node.pointId));
+            for (Node node : nodes.values()) {
+                node.pending = node.in.size();
+                node.layer = 0;
+                if (node.pending == 0) {
+                    ready.add(node);
+                }
+            }
+            int position = 0;
+            while (!ready.isEmpty()) {
+                Node node = ready.poll();
+                node.position = position++;
+                for (Node next : node.out) {
+                    next.layer = Math.max(next.layer, node.layer + 1);
+                    if (--next.pending == 0) {
+                        ready.add(next);
+                    }
+                }
+            }
+            nextPosition = position;
+            cyclic = position < nodes.size();
+        }
+
+        /**
+         * Pearce-Kelly: for a new edge from -> to against the order, moves the points reachable from {@code to}
+         * behind the points reaching {@code from}, reusing only the positions inside [to.position, from.position].
+         *
+         * @return false if {@code from} is reachable from {@code to}, i.e. the edge closes a cycle
+         */
+        private boolean _reorder(Node from, Node to) {
+            int lower = to.position;
+            int upper = from.position;
+
+            List<Node> forward = new ArrayList<>();
+            Set<Node> seen = new HashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(to);
+            seen.add(to);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                forward.add(node);
+                for (Node next : node.out) {
+                    if (next == from) {
+                        return false;
+                    }
+                    if (next.position < upper && seen.add(next)) {
+                        stack.push(next);
+                    }
+                }
+            }
+
+            List<Node> backward = new ArrayList<>();
+            stack.push(from);
+            seen.add(from);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                backward.add(node);
+                for (Node previous : node.in) {
+                    if (previous.position > lower && seen.add(previous)) {
+                        stack.push(previous);
+                    }
+                }
+            }
+
+            backward.sort(BY_POSITION);
+            forward.sort(BY_POSITION);
+            int[] positions = new int[backward.size() + forward.size()];
+            int k = 0;
+            for (Node node : backward) positions[k++] = node.position;
+            for (Node node : forward) positions[k++] = node.position;
+            Arrays.sort(positions);
+            k = 0;
+            for (Node node : backward) node.position = positions[k++];
+            for (Node node : forward) node.position = positions[k++];
+            return true;
+        }
+
+        /**
+         * Raises {@code start} to at least {@code layer} and pushes the change down, in topological order.
+         */
+        private void _raiseLayers(Node start, int layer) {
+            if (start.layer >= layer) {
+                return;
+            }
+            start.layer = layer;
+            PriorityQueue<Node> changed = new PriorityQueue<>(BY_POSITION);
+            changed.add(start);
+            while (!changed.isEmpty()) {
+                Node node = changed.poll();
+                for (Node next : node.out) {
+                    if (next.layer < node.layer + 1) {
+                        next.layer = node.layer + 1;
+                        changed.add(next);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Recomputes the layer of {@code start} from its remaining incoming edges and, where it dropped,
+         * of the points below it, in topological order.
+         */
+        private void _lowerLayers(Node start) {
+            PriorityQueue<Node> stale = new PriorityQueue<>(BY_POSITION);
+            Set<Node> queued = new HashSet<>();
+            stale.add(start);
+            queued.add(start);
+            while (!stale.isEmpty()) {
+                Node node = stale.poll();
+                queued.remove(node);
+                int layer = 0;
+                for (Node previous : node.in) {
+                    layer = Math.max(layer, previous.layer + 1);
+                }
+                if (layer != node.layer) {
+                    node.layer = layer;
+                    for (Node next : node.out) {
+                        if (queued.add(next)) {
+                            stale.add(next);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Points outside the project belong to the graph only through their edges to project points.
+         */
+        private void _dropIfDetached(Node node) {
+            if (node.in.isEmpty() && node.out.isEmpty() && !members.contains(node.pointId)) {
+                nodes.remove(node.pointId);
+            }
+        }
+    }
+}
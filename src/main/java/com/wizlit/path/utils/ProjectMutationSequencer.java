@@ -0,0 +1,222 @@
+package com.wizlit.path.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+/**
+ * Applies graph mutations of one project strictly in order, without relying on DB serialization.
+ *
+ * Projects are striped over a fixed number of lanes; each lane runs one batch at a time, so mutations of
+ * the same project never interleave while different projects proceed in parallel on other lanes.
+ * Mutations queued while a batch is running are grouped into the next batch and committed in one
+ * transaction. If a batch fails, it is rolled back and its mutations are re-applied one transaction each,
+ * so a failing mutation only fails its own caller. Side effects of a mutation must therefore either run in
+ * its transaction or be deferred with {@link AfterCommit}, which a rolled-back batch never triggers.
+ *
+ * A mutation spanning several projects holds the lanes of all of them: it is handed from lane to lane in
+ * ascending lane order, each lane stopping once it reaches the mutation, and runs alone once it holds the
+ * last one. Taking lanes in one fixed order keeps two spanning mutations from waiting on each other.
+ */
+@Component
+public class ProjectMutationSequencer {
+
+    private final TransactionalOperator transactionalOperator;
+    private final int maxBatchSize;
+    private final Lane[] lanes;
+
+    public ProjectMutationSequencer(
+            TransactionalOperator transactionalOperator,
+            @Value("${app.sequencer.lanes:0}") int laneCount,
+            @Value("${app.sequencer.max-batch:32}") int maxBatchSize
+    ) {
+        this.transactionalOperator = transactionalOperator;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lanes = new Lane[laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 2];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Queues a mutation on the lane of the given project.
+     * The mutation must not open its own transaction; it runs inside the batch transaction.
+     *
+     * @param projectId The project the mutation belongs to, null for points outside any project
+     * @param mutation Supplier of the mutation, invoked again if its batch has to be re-applied
+     * @return A Mono that completes with the mutation result once its transaction is committed
+     */
+    public <T> Mono<T> submit(Long projectId, Supplier<Mono<T>> mutation) {
+        return submit(projectId != null ? List.of(projectId) : List.of(), mutation);
+    }
+
+    /**
+     * Queues a mutation that must not interleave with mutations of any of the given projects.
+     * Null entries and an empty collection stand for points outside any project, which share one lane.
+     *
+     * @param projectIds The projects the mutation touches
+     * @param mutation Supplier of the mutation, invoked again if its batch has to be re-applied
+     * @return A Mono that completes with the mutation result once its transaction is committed
+     */
+    public <T> Mono<T> submit(Collection<Long> projectIds, Supplier<Mono<T>> mutation) {
+        return Mono.deferContextual(context -> {
+            Mutation<T> queued = new Mutation<>(mutation, context, _lanesOf(projectIds));
+            queued.lanes[0].offer(queued);
+            return queued.result.asMono();
+        });
+    }
+
+    private Lane[] _lanesOf(Collection<Long> projectIds) {
+        int[] indexes = (projectIds.isEmpty() ? List.of(0L) : projectIds).stream()
+                .mapToLong(projectId -> Objects.requireNonNullElse(projectId, 0L))
+                .mapToInt(projectId -> Math.floorMod(Long.hashCode(projectId), lanes.length))
+                .distinct()
+                .sorted()
+                .toArray();
+        Lane[] held = new Lane[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            held[i] = lanes[indexes[i]];
+        }
+        return held;
+    }
+
+    /**
+     * Called by each lane of a spanning mutation once the mutation reaches the head of its queue.
+     */
+    private void _hold(Mutation<?> mutation) {
+        if (++mutation.held < mutation.lanes.length) {
+            mutation.lanes[mutation.held].offer(mutation);
+            return;
+        }
+
+        applyAlone(mutation)
+                .doFinally(signal -> {
+                    for (Lane lane : mutation.lanes) {
+                        lane.release();
+                    }
+                })
+                .subscribe();
+    }
+
+    private Mono<Void> applyBatch(List<Mutation<?>> batch) {
+        if (batch.size() == 1) {
+            return applyAlone(batch.get(0));
+        }
+
+        return transactionalOperator.transactional(Flux.fromIterable(batch)
+                        .concatMap(Mutation::run)
+                        .then())
+                .doOnSuccess(done -> batch.forEach(Mutation::publish))
+                .onErrorResume(error -> Flux.fromIterable(batch)
+                        .concatMap(this::applyAlone)
+                        .then());
+    }
+
+    private Mono<Void> applyAlone(Mutation<?> mutation) {
+        return transactionalOperator.transactional(mutation.run())
+                .doOnSuccess(done -> mutation.publish())
+                .onErrorResume(error -> {
+                    mutation.fail(error);
+                    return Mono.empty();
+                });
+    }
+
+    private final class Lane {
+        private final Queue<Mutation<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        void offer(Mutation<?> mutation) {
+            queue.offer(mutation);
+            drain();
+        }
+
+        private void drain() {
+            if (!running.compareAndSet(false, true)) {
+                return;
+            }
+
+            // only the lane that won the flag polls, so the peeked head is the one polled
+            List<Mutation<?>> batch = new ArrayList<>();
+            Mutation<?> next;
+            while (batch.size() < maxBatchSize && (next = queue.peek()) != null && next.lanes.length == 1) {
+                batch.add(queue.poll());
+            }
+
+            if (batch.isEmpty()) {
+                Mutation<?> spanning = queue.poll();
+                if (spanning != null) {
+                    // the lane stays held until the spanning mutation has run
+                    _hold(spanning);
+                    return;
+                }
+                running.set(false);
+                // an offer may have landed between poll and release
+                if (!queue.isEmpty()) {
+                    drain();
+                }
+                return;
+            }
+
+            applyBatch(batch)
+                    .doFinally(signal -> release())
+                    .subscribe();
+        }
+
+        void release() {
+            running.set(false);
+            drain();
+        }
+    }
+
+    private static final class Mutation<T> {
+        private final Supplier<Mono<T>> work;
+        private final ContextView context;
+        private final Lane[] lanes; // ascending lane order
+        private final Sinks.One<T> result = Sinks.one();
+        private volatile T value;
+        private int held;           // index of the last lane handed the mutation, advanced through the lane queues
+
+        Mutation(Supplier<Mono<T>> work, ContextView context, Lane[] lanes) {
+            this.work = work;
+            this.context = context;
+            this.lanes = lanes;
+        }
+
+        Mono<Void> run() {
+            return Mono.defer(() -> {
+                value = null;
+                return work.get();
+            })
+                    .doOnNext(produced -> value = produced)
+                    .contextWrite(context)
+                    .then();
+        }
+
+        void publish() {
+            T produced = value;
+            if (produced == null) {
+                result.tryEmitEmpty();
+            } else {
+                result.tryEmitValue(produced);
+            }
+        }
+
+        void fail(Throwable error) {
+            result.tryEmitError(error);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.wizlit.path.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the per-identity rate limit of a handler.
+ * Handlers without it use app.rate-limit.per-second / app.rate-limit.burst when they are {@link PrivateAccess},
+ * and are not limited otherwise.
+ * On public handlers the limit is keyed by client address and applies only when app.rate-limit.public-by-address=true
+ * and server.forward-headers-strategy names a trusted proxy; otherwise public handlers are not limited.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    double perSecond();
+    int burst();
+}
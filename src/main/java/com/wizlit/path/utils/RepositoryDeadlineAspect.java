@@ -0,0 +1,39 @@
+package com.wizlit.path.utils;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounds every reactive repository call by the request {@link Deadline}.
+ * A timeout cancels the R2DBC subscription, which releases its pooled connection;
+ * statement_timeout (spring.r2dbc.properties.statementTimeout) stops the statement on the server side.
+ */
+@Aspect
+@Component
+public class RepositoryDeadlineAspect {
+
+    @Pointcut("this(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+    public void repositories() {}
+
+    @Pointcut("execution(public reactor.core.publisher.Mono *(..)) || execution(public reactor.core.publisher.Flux *(..))")
+    public void reactiveMethods() {}
+
+    @Around("repositories() && reactiveMethods()")
+    public Object applyDeadline(ProceedingJoinPoint jp) throws Throwable {
+        Object result = jp.proceed();
+
+        if (result instanceof Mono<?> mono) {
+            return Deadline.bound(mono);
+        }
+        if (result instanceof Flux<?> flux) {
+            return Deadline.bound(flux);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.wizlit.path.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides app.deadline.default-ms for a handler.
+ * A client may shorten it with the X-Request-Timeout header (milliseconds), but never extend it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+    long millis();
+}
@@ -0,0 +1,39 @@
+package com.wizlit.path.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces identical concurrent calls into one upstream subscription.
+ *
+ * While a call for a key is in flight, later callers with the same key subscribe to its result
+ * instead of starting their own. The key is released as soon as the call terminates, so nothing is
+ * cached beyond the burst and errors are only shared with callers that were already waiting.
+ * The shared call is cancelled once every caller waiting on it has cancelled (e.g. all clients disconnected).
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(k, self.get()))
+                .flux()
+                .replay(1)
+                .refCount()
+                .singleOrEmpty();
+            self.set(shared);
+            return shared;
+        }));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.wizlit.path.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-identity, per-route token buckets.
+ *
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA), so a check is one
+ * map lookup and one CAS with no locks and no refill timer. Buckets that have been idle long enough
+ * to be full again carry no state and are swept out periodically.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+    private final long idleNanos;
+
+    public TokenBucketRateLimiter(@Value("${app.rate-limit.idle-seconds:600}") long idleSeconds) {
+        this.idleNanos = idleSeconds * 1_000_000_000L;
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + idleNanos);
+    }
+
+    /**
+     * Takes one token from the bucket of the given identity and route.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String identity, String route, double perSecond, int burst) {
+        long now = System.nanoTime();
+        _sweepIfDue(now);
+
+        long interval = (long) (1_000_000_000L / perSecond);
+        long tolerance = interval * Math.max(1, burst);
+        AtomicLong bucket = buckets.computeIfAbsent(identity + "|" + route, key -> new AtomicLong(now));
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void _sweepIfDue(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> now - bucket.get() > idleNanos);
+    }
+}
@@ -28,8 +28,12 @@ public class Validator {
     }
 
     public Throwable toException() {
-        return (exception != null)
-                ? exception
+        if (exception != null) {
+            return exception;
+        }
+        // already mapped upstream (e.g. DEADLINE_EXCEEDED), keep it as is
+        return (cause instanceof ApiException apiException)
+                ? apiException
                 : new ApiException(ErrorCode.INTERNAL_SERVER, cause);
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.wizlit.path.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.wizlit.path.logging.RequestContextFilter;
+import com.wizlit.path.model.EdgeFormat;
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.ResponseWithChange;
+import com.wizlit.path.model.domain.ProjectDto;
+import com.wizlit.path.model.response.FinalResponse;
+import com.wizlit.path.service.PointService;
+import com.wizlit.path.service.ProjectService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Warms the node up before it reports readiness (ApplicationRunners finish before ApplicationReadyEvent,
+ * which switches the readiness state to ACCEPTING_TRAFFIC).
+ *
+ * 1. Prefetches the most-read projects and points of earlier runs from the {@link AccessHistory}
+ *    through the services, app.warmup.concurrency at a time.
+ * 2. Replays the getProject pipeline (every edge format, every payload format) over the hottest projects
+ *    for app.warmup.replay-rounds rounds, so its hot paths are JIT-compiled before real traffic arrives.
+ *
+ * The whole warm-up is bounded by app.warmup.timeout-seconds; failures are logged and never stop the startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final int REPLAY_PROJECTS = 8;
+    private static final List<EdgeFormat> EDGE_FORMATS = List.of(EdgeFormat.OBJECTS, EdgeFormat.COMPACT, EdgeFormat.DELTA);
+
+    private final AccessHistory accessHistory;
+    private final ProjectService projectService;
+    private final PointService pointService;
+    private final PayloadCodec payloadCodec;
+    private final int projectLimit;
+    private final int pointLimit;
+    private final int concurrency;
+    private final int replayRounds;
+    private final Duration timeout;
+
+    public WarmUpRunner(
+            AccessHistory accessHistory,
+            ProjectService projectService,
+            PointService pointService,
+            PayloadCodec payloadCodec,
+            @Value("${app.warmup.projects:50}") int projectLimit,
+            @Value("${app.warmup.points:500}") int pointLimit,
+            @Value("${app.warmup.concurrency:4}") int concurrency,
+            @Value("${app.warmup.replay-rounds:20}") int replayRounds,
+            @Value("${app.warmup.timeout-seconds:60}") long timeoutSeconds
+    ) {
+        this.accessHistory = accessHistory;
+        this.projectService = projectService;
+        this.pointService = pointService;
+        this.payloadCodec = payloadCodec;
+        this.projectLimit = projectLimit;
+        this.pointLimit = pointLimit;
+        this.concurrency = Math.max(1, concurrency);
+        this.replayRounds = replayRounds;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long[] projectIds = accessHistory.hottestProjects(projectLimit);
+        long[] pointIds = accessHistory.hottestPoints(pointLimit);
+        if (projectIds.length == 0 && pointIds.length == 0) {
+            log.info("Warm-up skipped: no access history yet");
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            Long reads = _prefetch(projectIds, pointIds)
+                .then(_replay(Arrays.copyOf(projectIds, Math.min(REPLAY_PROJECTS, projectIds.length))))
+                .contextWrite(Context.of(RequestContextFilter.REQUEST_ID, "warmup"))
+                .block(timeout);
+            log.info("Warm-up done: {} projects, {} points prefetched, {} responses replayed in {} ms",
+                projectIds.length, pointIds.length, reads, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up stopped after {} ms: {}", (System.nanoTime() - started) / 1_000_000, e.toString());
+        }
+    }
+
+    private Mono<Void> _prefetch(long[] projectIds, long[] pointIds) {
+        Mono<Void> projects = Flux.fromStream(Arrays.stream(projectIds).boxed())
+            .flatMap(projectId -> projectService.getProjectById(projectId, EdgeFormat.COMPACT)
+                .onErrorResume(error -> Mono.empty()), concurrency)
+            .then();
+        Mono<Void> points = Flux.fromStream(Arrays.stream(pointIds).boxed())
+            .flatMap(pointId -> pointService.getPoint(pointId, null)
+                .onErrorResume(error -> Mono.empty()), concurrency)
+            .then();
+        return projects.then(points);
+    }
+
+    /**
+     * Same steps as ProjectController.getProject, without the HTTP exchange.
+     */
+    private Mono<Long> _replay(long[] projectIds) {
+        FieldSelection selection = FieldSelection.all();
+        return Flux.range(0, replayRounds)
+            .concatMap(round -> Flux.fromStream(Arrays.stream(projectIds).boxed()))
+            .flatMap(projectId -> Flux.fromIterable(EDGE_FORMATS)
+                .concatMap(format -> projectService.getProjectById(projectId, format))
+                .concatMap(project -> _encodeAll(project, selection))
+                .onErrorResume(error -> Mono.empty()), concurrency)
+            .count();
+    }
+
+    private Flux<byte[]> _encodeAll(ProjectDto project, FieldSelection selection) {
+        return pointService.listPointsByIds(project.getAllPointIds(), null, selection)
+            .collectList()
+            .map(points -> new ResponseWithChange<>(new FinalResponse().forGetProject(project.getProjectId(), selection.apply(project), points)))
+            .flatMapMany(response -> Flux.fromIterable(PayloadCodec.SUPPORTED)
+                .map((MediaType format) -> payloadCodec.encode(format, response)));
+    }
+}
@@ -0,0 +1,205 @@
+package com.wizlit.path.utils;
+
+import java.util.Arrays;
+
+import com.wizlit.path.model.GraphPath;
+import com.wizlit.path.model.PathMetric;
+import com.wizlit.path.model.WeightedEdges;
+
+/**
+ * Adjacency of a set of weighted edges for path queries, in primitive arrays only.
+ *
+ * Points get dense indices in ascending ID order and the outgoing edges of each point sit in one range of
+ * a CSR (compressed sparse row) layout, which the (origin, destination) sort order of the edges already is.
+ * Paths are found with Dijkstra over an indexed binary heap: one int slot per point and a position table,
+ * so a shorter distance moves its point up in place instead of adding a second heap entry.
+ */
+public final class WeightedGraph {
+
+    private static final int UNSEEN = -1;
+    private static final int SETTLED = -2;
+
+    private final long[] pointIds;  // ascending, index -> ID
+    private final int[] offsets;    // outgoing edges of point i: offsets[i] until offsets[i + 1]
+    private final int[] sources;    // edge -> index of its origin
+    private final int[] targets;    // edge -> index of its destination
+    private final long[] weights;   // edge -> weight
+
+    private WeightedGraph(long[] pointIds, int[] offsets, int[] sources, int[] targets, long[] weights) {
+        this.pointIds = pointIds;
+        this.offsets = offsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static WeightedGraph of(WeightedEdges edges) {
+        int edgeCount = edges.size();
+
+        // origins are sorted already, only destinations need sorting before both are merged into the point IDs
+        long[] destinations = new long[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            destinations[i] = edges.destination(i);
+        }
+        Arrays.sort(destinations);
+        long[] pointIds = new long[edgeCount * 2];
+        int pointCount = 0;
+        for (int i = 0, j = 0; i < edgeCount || j < edgeCount; ) {
+            long next = j >= edgeCount || (i < edgeCount && edges.origin(i) <= destinations[j])
+                    ? edges.origin(i++)
+                    : destinations[j++];
+            if (pointCount == 0 || pointIds[pointCount - 1] != next) {
+                pointIds[pointCount++] = next;
+            }
+        }
+        pointIds = Arrays.copyOf(pointIds, pointCount);
+
+        int[] offsets = new int[pointCount + 1];
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        long[] weights = new long[edgeCount];
+        int source = -1;
+        for (int i = 0; i < edgeCount; i++) {
+            // origins ascend, so the index of the current origin only moves forward
+            if (source < 0 || pointIds[source] != edges.origin(i)) {
+                source = Arrays.binarySearch(pointIds, source + 1, pointCount, edges.origin(i));
+            }
+            sources[i] = source;
+            targets[i] = Arrays.binarySearch(pointIds, edges.destination(i));
+            weights[i] = edges.weight(i);
+            offsets[source + 1]++;
+        }
+        for (int i = 0; i < pointCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return new WeightedGraph(pointIds, offsets, sources, targets, weights);
+    }
+
+    public int pointCount() {
+        return pointIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Route from origin to destination minimizing the metric, null when the destination cannot be reached.
+     * Ties are broken by settling smaller point IDs first, so equally long routes always resolve the same way.
+     * A point always reaches itself with an empty route, even when no edge touches it.
+     */
+    public GraphPath shortestPath(long originPointId, long destinationPointId, PathMetric metric) {
+        if (originPointId == destinationPointId) {
+            return new GraphPath(new long[] { originPointId }, 0);
+        }
+        int origin = Arrays.binarySearch(pointIds, originPointId);
+        int destination = Arrays.binarySearch(pointIds, destinationPointId);
+        if (origin < 0 || destination < 0) {
+            return null;
+        }
+
+        int n = pointIds.length;
+        long[] distances = new long[n];
+        int[] via = new int[n];       // edge that reached point i on the best route so far
+        int[] positions = new int[n]; // heap slot of point i, UNSEEN or SETTLED
+        int[] heap = new int[n];
+        Arrays.fill(positions, UNSEEN);
+
+        distances[origin] = 0;
+        via[origin] = -1;
+        heap[0] = origin;
+        positions[origin] = 0;
+        int size = 1;
+
+        while (size > 0) {
+            int point = heap[0];
+            positions[point] = SETTLED;
+            if (--size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                _siftDown(heap, positions, distances, size, 0);
+            }
+            if (point == destination) {
+                return _route(destination, distances[destination], metric, via);
+            }
+
+            for (int edge = offsets[point]; edge < offsets[point + 1]; edge++) {
+                int next = targets[edge];
+                if (positions[next] == SETTLED) {
+                    continue;
+                }
+                long distance = distances[point] + (metric == PathMetric.CHEAPEST ? weights[edge] : 1);
+                if (positions[next] == UNSEEN) {
+                    distances[next] = distance;
+                    via[next] = edge;
+                    heap[size] = next;
+                    positions[next] = size;
+                    _siftUp(heap, positions, distances, size++);
+                } else if (distance < distances[next]) {
+                    distances[next] = distance;
+                    via[next] = edge;
+                    _siftUp(heap, positions, distances, positions[next]);
+                }
+            }
+        }
+        return null;
+    }
+
+    private GraphPath _route(int destination, long distance, PathMetric metric, int[] via) {
+        int hops = 0;
+        long cost = 0;
+        for (int edge = via[destination]; edge >= 0; edge = via[sources[edge]]) {
+            hops++;
+            cost += weights[edge];
+        }
+
+        long[] route = new long[hops + 1];
+        int point = destination;
+        for (int i = hops; i > 0; i--) {
+            route[i] = pointIds[point];
+            point = sources[via[point]];
+        }
+        route[0] = pointIds[point];
+        return new GraphPath(route, metric == PathMetric.CHEAPEST ? distance : cost);
+    }
+
+    private static boolean _before(long[] distances, int a, int b) {
+        return distances[a] < distances[b] || (distances[a] == distances[b] && a < b);
+    }
+
+    private static void _siftUp(int[] heap, int[] positions, long[] distances, int slot) {
+        int point = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!_before(distances, point, heap[parent])) {
+                break;
+            }
+            heap[slot] = heap[parent];
+            positions[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = point;
+        positions[point] = slot;
+    }
+
+    private static void _siftDown(int[] heap, int[] positions, long[] distances, int size, int slot) {
+        int point = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && _before(distances, heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!_before(distances, heap[child], point)) {
+                break;
+            }
+            heap[slot] = heap[child];
+            positions[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = point;
+        positions[point] = slot;
+    }
+}
@@ -0,0 +1,19 @@
+-- Indexes matched to the access paths of the repository queries.
+-- Each statement runs CONCURRENTLY so a deployed database keeps serving writes while they build.
+
+-- `edge`: unique_edge (origin_point, destination_point) already serves origin lookups,
+-- the destination side of the OR-join in EdgeRepository.findAllByPointIdIn needs its own index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_edge_destination_point
+    ON edge (destination_point);
+
+-- `project_point`: reverse lookup of the projects a point belongs to
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_point_point_id
+    ON project_point (point_id);
+
+-- `point_memo`: ordered ARRAY_AGG of memo ids per point, memo_id included for index-only scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_point_memo_point_id_memo_order
+    ON point_memo (point_id, memo_order) INCLUDE (memo_id);
+
+-- `path_user`: login lookup by email (UserRepository.findByUserEmail)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_path_user_user_email
+    ON path_user (user_email);
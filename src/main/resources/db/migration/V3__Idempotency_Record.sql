@@ -0,0 +1,10 @@
+-- Stored results of creating requests sent with an Idempotency-Key header
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    idempotency_key VARCHAR(512) PRIMARY KEY, -- scope (route + user) and client key
+    response_data TEXT NOT NULL, -- JSON of ResponseWithChange.data
+    last_change_time BIGINT NOT NULL, -- ResponseWithChange.lastChangeTime (epoch milliseconds)
+    expires_timestamp TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_expires_timestamp
+    ON idempotency_record (expires_timestamp);
@@ -0,0 +1,2 @@
+-- Optional weight of an edge, used by cheapest-path queries; NULL means the default weight (Edge.DEFAULT_WEIGHT = 5)
+ALTER TABLE edge ADD COLUMN IF NOT EXISTS weight INTEGER CHECK (weight >= 0);
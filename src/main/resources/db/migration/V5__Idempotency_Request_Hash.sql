@@ -0,0 +1,3 @@
+-- SHA-256 of the request a stored result answers; a retry with the same key but another request is rejected.
+-- NULL for records stored before the column existed: those are replayed without the check.
+ALTER TABLE idempotency_record ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
@@ -0,0 +1,180 @@
+package com.wizlit.path.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Runs EXPLAIN for every {@link Query} of the repositories against a generated large dataset
+ * and fails when a plan falls back to a sequential scan.
+ *
+ * The dataset lives in temporary tables created with {@code LIKE ... INCLUDING ALL}; they shadow the
+ * real tables inside the test transaction, carry the same indexes, and are rolled back afterwards.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+	private static final List<Class<?>> REPOSITORIES = List.of(
+			EdgeRepository.class,
+			PointRepository.class,
+			ProjectPointRepository.class,
+			ProjectRepository.class,
+			UserRepository.class
+	);
+
+	// queries that read the whole table by design
+	private static final Set<String> FULL_SCAN_QUERIES = Set.of(
+			"PointRepository.findAllPointIds"
+	);
+
+	private static final List<String> SEED_STATEMENTS = List.of(
+			"CREATE TEMP TABLE path_user (LIKE path_user INCLUDING ALL) ON COMMIT DROP",
+			"CREATE TEMP TABLE project (LIKE project INCLUDING ALL) ON COMMIT DROP",
+			"CREATE TEMP TABLE point (LIKE point INCLUDING ALL) ON COMMIT DROP",
+			"CREATE TEMP TABLE project_point (LIKE project_point INCLUDING ALL) ON COMMIT DROP",
+			"CREATE TEMP TABLE point_memo (LIKE point_memo INCLUDING ALL) ON COMMIT DROP",
+			"CREATE TEMP TABLE edge (LIKE edge INCLUDING ALL) ON COMMIT DROP",
+			"INSERT INTO path_user (user_id, user_email, user_name) " +
+					"SELECT g, 'user' || g || '@test.com', 'user ' || g FROM generate_series(1, 20000) g",
+			"INSERT INTO project (project_id, project_created_user, project_created_timestamp, project_updated_timestamp) " +
+					"SELECT g, 1, now(), now() FROM generate_series(1, 2000) g",
+			"INSERT INTO point (point_id, point_title, point_created_user, point_created_timestamp, point_updated_timestamp) " +
+					"SELECT g, 'point ' || g, 1, now(), now() - g * interval '1 second' FROM generate_series(1, 100000) g",
+			"INSERT INTO project_point (project_id, point_id) " +
+					"SELECT (g % 2000) + 1, g FROM generate_series(1, 100000) g",
+			"INSERT INTO point_memo (memo_id, point_id, memo_order) " +
+					"SELECT g, (g % 100000) + 1, g / 100000 FROM generate_series(1, 300000) g",
+			"INSERT INTO edge (origin_point, destination_point) " +
+					"SELECT g, g + 1 FROM generate_series(1, 99999) g " +
+					"UNION ALL SELECT g, g + 7 FROM generate_series(1, 99993) g",
+			"ANALYZE path_user, project, point, project_point, point_memo, edge"
+	);
+
+	private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):([a-zA-Z_][a-zA-Z0-9_]*)");
+	private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Autowired
+	private ReactiveTransactionManager transactionManager;
+
+	@Test
+	void queriesDoNotFallBackToSequentialScans() {
+		Flux<String> regressions = TransactionalOperator.create(transactionManager)
+				.execute(status -> {
+					status.setRollbackOnly();
+					return Flux.fromIterable(SEED_STATEMENTS)
+							.concatMap(sql -> databaseClient.sql(sql).then())
+							.thenMany(Flux.fromIterable(annotatedQueries()))
+							.concatMap(this::findSequentialScans);
+				});
+
+		StepVerifier.create(regressions.collectList())
+				.assertNext(found -> assertTrue(found.isEmpty(), "Sequential scans found:\n" + String.join("\n", found)))
+				.expectComplete()
+				.verify(Duration.ofMinutes(2));
+	}
+
+	private List<Method> annotatedQueries() {
+		List<Method> methods = new ArrayList<>();
+		for (Class<?> repository : REPOSITORIES) {
+			for (Method method : repository.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(Query.class)
+						&& !FULL_SCAN_QUERIES.contains(repository.getSimpleName() + "." + method.getName())) {
+					methods.add(method);
+				}
+			}
+		}
+		return methods;
+	}
+
+	private Flux<String> findSequentialScans(Method method) {
+		String sql = method.getAnnotation(Query.class).value();
+		String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+		DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("EXPLAIN " + sql);
+		for (Map.Entry<String, Object> binding : bindings(method, sql).entrySet()) {
+			spec = spec.bind(binding.getKey(), binding.getValue());
+		}
+
+		return spec.map(row -> row.get(0, String.class))
+				.all()
+				.collectList()
+				.flatMapMany(lines -> {
+					String plan = String.join("\n", lines);
+					Matcher matcher = SEQ_SCAN.matcher(plan);
+					List<String> found = new ArrayList<>();
+					while (matcher.find()) {
+						found.add(name + " -> Seq Scan on " + matcher.group(1) + "\n" + plan);
+					}
+					return Flux.fromIterable(found);
+				});
+	}
+
+	/**
+	 * Builds a sample value for every named parameter used by the query, typed after the method parameter.
+	 */
+	private Map<String, Object> bindings(Method method, String sql) {
+		Map<String, Class<?>> types = new LinkedHashMap<>();
+		for (Parameter parameter : method.getParameters()) {
+			Param param = parameter.getAnnotation(Param.class);
+			types.put(param != null ? param.value() : parameter.getName(), parameter.getType());
+		}
+
+		Map<String, Object> bindings = new LinkedHashMap<>();
+		Matcher matcher = NAMED_PARAMETER.matcher(sql);
+		while (matcher.find()) {
+			String name = matcher.group(1);
+			bindings.computeIfAbsent(name, key -> sample(key, types.getOrDefault(key, Long.class)));
+		}
+		return bindings;
+	}
+
+	private Object sample(String name, Class<?> type) {
+		if (Collection.class.isAssignableFrom(type)) {
+			return LongStream.rangeClosed(1, 50).boxed().toList();
+		}
+		if (type == Long[].class) {
+			return LongStream.rangeClosed(1, 50).boxed().toArray(Long[]::new);
+		}
+		if (type == Instant.class) {
+			return Instant.now().minus(Duration.ofHours(1));
+		}
+		if (type == int.class || type == Integer.class) {
+			return 5;
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return true;
+		}
+		if (type == String.class) {
+			return "user42@test.com";
+		}
+		return 42L;
+	}
+}
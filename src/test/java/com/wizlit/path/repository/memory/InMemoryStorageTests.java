@@ -0,0 +1,148 @@
+package com.wizlit.path.repository.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.entity.Point;
+import com.wizlit.path.exception.ApiException;
+import com.wizlit.path.exception.ErrorCode;
+import com.wizlit.path.repository.PointRepository;
+import com.wizlit.path.service.manager.EdgeManager;
+import com.wizlit.path.service.manager.PointManager;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The managers on the in-memory engine: the same ErrorCodes as on Postgres, and rollback of failed transactions.
+ */
+@SpringBootTest
+@ActiveProfiles({ "dev", "memory" })
+class InMemoryStorageTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	@Autowired
+	private PointManager pointManager;
+
+	@Autowired
+	private EdgeManager edgeManager;
+
+	@Autowired
+	private PointRepository pointRepository;
+
+	@Autowired
+	private TransactionalOperator transactionalOperator;
+
+	@Test
+	void duplicateTitleIsRejected() {
+		String title = _uniqueTitle();
+		pointManager.createPoint(Point.builder().pointTitle(title).build()).block(TIMEOUT);
+
+		_assertErrorCode(ErrorCode.POINT_NAME_DUPLICATED,
+			pointManager.createPoint(Point.builder().pointTitle(title).build()));
+	}
+
+	@Test
+	void edgeRulesMatchConstraints() {
+		Long origin = _createPoint();
+		Long destination = _createPoint();
+
+		_assertErrorCode(ErrorCode.NON_EXISTENT_POINTS, edgeManager.createEdge(origin, Long.MAX_VALUE));
+
+		edgeManager.createEdge(origin, destination).block(TIMEOUT);
+		_assertErrorCode(ErrorCode.EDGE_ALREADY_EXISTS, edgeManager.createEdge(origin, destination));
+		_assertErrorCode(ErrorCode.POINT_NOT_DELETABLE, pointManager.deletePoint(destination));
+	}
+
+	@Test
+	void failedTransactionIsRolledBack() {
+		Long origin = _createPoint();
+		Long destination = _createPoint();
+
+		Mono<Edge> failing = edgeManager.createEdge(origin, destination)
+			.then(edgeManager.createEdge(origin, Long.MAX_VALUE))
+			.as(transactionalOperator::transactional);
+		assertThrows(ApiException.class, () -> failing.block(TIMEOUT));
+
+		assertFalse(edgeManager.findEdge(origin, destination).hasElement().block(TIMEOUT));
+		assertTrue(pointManager.validatePointsExist(origin, destination).block(TIMEOUT));
+	}
+
+	@Test
+	void splitEdgeKeepsWeightOnBothHalves() {
+		Long origin = _createPoint();
+		Long middle = _createPoint();
+		Long destination = _createPoint();
+		edgeManager.createEdgeIfAbsent(origin, destination, 9).block(TIMEOUT);
+
+		edgeManager.splitEdge(origin, destination, middle).collectList().block(TIMEOUT);
+
+		assertFalse(edgeManager.findEdge(origin, destination).hasElement().block(TIMEOUT));
+		assertEquals(9, edgeManager.findEdge(origin, middle).block(TIMEOUT).getWeight());
+		assertEquals(9, edgeManager.findEdge(middle, destination).block(TIMEOUT).getWeight());
+	}
+
+	@Test
+	void rollbackKeepsWritesMadeWhileTransactionWasOpen() {
+		Long pointId = _createPoint();
+		Point renamed = pointRepository.findById(pointId).block(TIMEOUT);
+		String title = _uniqueTitle();
+		renamed.setPointTitle(title);
+
+		Mono<Edge> failing = pointManager.updatePoint(pointId, null, "uncommitted")
+			.delayElement(Duration.ofMillis(200))
+			.then(edgeManager.createEdge(pointId, Long.MAX_VALUE))
+			.as(transactionalOperator::transactional)
+			.onErrorResume(ApiException.class, error -> Mono.empty());
+		Mono<Point> concurrent = Mono.delay(Duration.ofMillis(50))
+			.then(pointRepository.save(renamed));
+		Mono.when(failing, concurrent).block(TIMEOUT);
+
+		Point stored = pointRepository.findById(pointId).block(TIMEOUT);
+		assertEquals(title, stored.getPointTitle());
+		assertNull(stored.getPointSummary());
+	}
+
+	@Test
+	void cancelledQueuedWriteDoesNotKeepTheLock() {
+		Mono<Point> holding = pointManager.createPoint(Point.builder().pointTitle(_uniqueTitle()).build())
+			.delayElement(Duration.ofMillis(300))
+			.as(transactionalOperator::transactional);
+		Mono<Point> cancelled = Mono.delay(Duration.ofMillis(50))
+			.then(pointManager.createPoint(Point.builder().pointTitle(_uniqueTitle()).build())
+				.timeout(Duration.ofMillis(50)))
+			.onErrorResume(TimeoutException.class, error -> Mono.empty());
+		Mono.when(holding, cancelled).block(TIMEOUT);
+
+		assertTrue(pointManager.validatePointsExist(_createPoint()).block(TIMEOUT));
+	}
+
+	private Long _createPoint() {
+		return pointManager.createPoint(Point.builder().pointTitle(_uniqueTitle()).build())
+			.map(Point::getPointId)
+			.block(TIMEOUT);
+	}
+
+	private static String _uniqueTitle() {
+		return "memory-" + UUID.randomUUID();
+	}
+
+	private static void _assertErrorCode(ErrorCode expected, Mono<?> call) {
+		ApiException error = assertThrows(ApiException.class, () -> call.block(TIMEOUT));
+		assertEquals(expected, error.getErrorCode());
+	}
+}
@@ -0,0 +1,94 @@
+package com.wizlit.path.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wizlit.path.entity.Point;
+import com.wizlit.path.model.FieldSelection;
+import com.wizlit.path.model.TraversalDirection;
+import com.wizlit.path.model.domain.NeighborhoodDto;
+import com.wizlit.path.service.PointService;
+import com.wizlit.path.service.manager.EdgeManager;
+import com.wizlit.path.service.manager.PointManager;
+import com.wizlit.path.utils.Deadline;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * The neighborhood stream on the in-memory engine over a chain of four points: levels follow demand, and the
+ * request deadline bounds each level rather than the whole stream.
+ */
+@SpringBootTest
+@ActiveProfiles({ "dev", "memory" })
+class StreamNeighborhoodTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	@Autowired
+	private PointService pointService;
+
+	@Autowired
+	private PointManager pointManager;
+
+	@Autowired
+	private EdgeManager edgeManager;
+
+	@Test
+	void levelsAreReadOnDemand() {
+		long[] chain = _chain(4);
+
+		StepVerifier.create(_downstream(chain[0]), 1)
+			.assertNext(level -> assertEquals(0, level.getHop().intValue()))
+			.expectNoEvent(Duration.ofMillis(100))
+			.thenRequest(1)
+			.assertNext(level -> assertArrayEquals(new long[] { chain[1] }, level.getPointIds()))
+			.thenRequest(Long.MAX_VALUE)
+			.assertNext(level -> assertArrayEquals(new long[] { chain[2] }, level.getPointIds()))
+			.assertNext(level -> assertArrayEquals(new long[] { chain[3] }, level.getPointIds()))
+			.expectComplete()
+			.verify(TIMEOUT);
+	}
+
+	@Test
+	void slowReaderOutlivesRequestDeadline() {
+		long[] chain = _chain(4);
+		Flux<NeighborhoodDto> levels = _downstream(chain[0]).contextWrite(Deadline.after(200)::writeTo);
+
+		StepVerifier.create(levels, 1)
+			.expectNextCount(1)
+			.thenAwait(Duration.ofMillis(300))
+			.thenRequest(1)
+			.expectNextCount(1)
+			.thenAwait(Duration.ofMillis(300))
+			.thenRequest(Long.MAX_VALUE)
+			.expectNextCount(2)
+			.expectComplete()
+			.verify(TIMEOUT);
+	}
+
+	private Flux<NeighborhoodDto> _downstream(long pointId) {
+		return pointService.streamNeighborhood(pointId, TraversalDirection.DOWNSTREAM, 3, FieldSelection.all());
+	}
+
+	private long[] _chain(int length) {
+		long[] pointIds = new long[length];
+		for (int i = 0; i < length; i++) {
+			pointIds[i] = pointManager.createPoint(Point.builder().pointTitle("neighborhood-" + UUID.randomUUID()).build())
+				.map(Point::getPointId)
+				.block(TIMEOUT);
+			if (i > 0) {
+				edgeManager.createEdge(pointIds[i - 1], pointIds[i]).block(TIMEOUT);
+			}
+		}
+		return pointIds;
+	}
+}
@@ -0,0 +1,73 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Segments, replay order and torn tails of the edge write-ahead log.
+ */
+class EdgeLogTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void restartReplaysEarlierSegmentsInOrder() throws IOException {
+		Path snapshot = directory.resolve("edges.csr");
+		try (EdgeLog log = new EdgeLog(snapshot)) {
+			log.append(1, 2, true);
+			log.append(3, 4, false);
+			log.rotate();
+			log.append(1, 2, false);
+		}
+
+		try (EdgeLog restarted = new EdgeLog(snapshot)) {
+			assertEquals(3, restarted.liveSequence());
+			assertEquals(List.of("1>2:true", "3>4:false", "1>2:false"), _replay(restarted, 1));
+			assertEquals(List.of("1>2:false"), _replay(restarted, 2));
+		}
+	}
+
+	@Test
+	void replayStopsAtTornTail() throws IOException {
+		Path snapshot = directory.resolve("edges.csr");
+		try (EdgeLog log = new EdgeLog(snapshot)) {
+			log.append(5, 6, true);
+		}
+		Files.write(directory.resolve("edges.csr.wal.1"), new byte[] { 1, 2, 3 }, StandardOpenOption.APPEND);
+		Files.write(directory.resolve("edges.csr.wal.2"), new byte[3 * Long.BYTES]);
+
+		try (EdgeLog restarted = new EdgeLog(snapshot)) {
+			assertEquals(List.of("5>6:true"), _replay(restarted, 1));
+		}
+	}
+
+	@Test
+	void deleteBeforeKeepsLaterSegments() throws IOException {
+		try (EdgeLog log = new EdgeLog(directory.resolve("edges.csr"))) {
+			log.append(1, 2, true);
+			long sequence = log.rotate();
+			log.deleteBefore(sequence);
+
+			assertFalse(Files.exists(directory.resolve("edges.csr.wal.1")));
+			assertTrue(Files.exists(directory.resolve("edges.csr.wal." + sequence)));
+		}
+	}
+
+	private static List<String> _replay(EdgeLog log, long fromSequence) throws IOException {
+		List<String> records = new ArrayList<>();
+		log.replay(fromSequence, (origin, destination, exists) -> records.add(origin + ">" + destination + ":" + exists));
+		return records;
+	}
+}
@@ -0,0 +1,162 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.EdgeFingerprint;
+import com.wizlit.path.service.manager.EdgeManager;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Restart of the edge snapshot store: log replay checked against the database fingerprint, and checkpoints.
+ */
+class EdgeSnapshotStoreTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+	private static final Long[] ALL_POINTS = { 1L, 2L, 3L, 4L };
+
+	@TempDir
+	Path directory;
+
+	private final AtomicReference<CompactEdges> database = new AtomicReference<>();
+	private EdgeManager edgeManager;
+	private ObjectProvider<EdgeManager> edgeManagerProvider;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void mockDatabase() {
+		edgeManager = mock(EdgeManager.class);
+		when(edgeManager.findAllCompactEdges()).thenAnswer(call -> Mono.just(database.get()));
+		when(edgeManager.fingerprintEdges()).thenAnswer(call -> Mono.just(EdgeFingerprint.of(database.get())));
+		edgeManagerProvider = mock(ObjectProvider.class);
+		when(edgeManagerProvider.getObject()).thenReturn(edgeManager);
+	}
+
+	@Test
+	void restartReplaysLogInsteadOfScanning() throws IOException {
+		database.set(_edges(1, 2, 2, 3));
+		EdgeSnapshotStore first = _loadedStore(1_000);
+		first.record(List.of(new Edge(3L, 4L)), true).block(TIMEOUT);
+		first.record(List.of(new Edge(1L, 2L)), false).block(TIMEOUT);
+		first.close();
+
+		database.set(_edges(2, 3, 3, 4));
+		EdgeSnapshotStore restarted = _loadedStore(1_000);
+		_assertSameEdges(database.get(), restarted.edgesTouching(ALL_POINTS));
+		verify(edgeManager, times(1)).findAllCompactEdges();
+		restarted.close();
+	}
+
+	@Test
+	void sameCountOtherContentIsRebuilt() throws IOException {
+		database.set(_edges(1, 2, 2, 3));
+		_loadedStore(1_000).close();
+
+		// changed while the node was down: the edge count alone would not notice
+		database.set(_edges(1, 2, 2, 4));
+		EdgeSnapshotStore restarted = _loadedStore(1_000);
+		_assertSameEdges(database.get(), restarted.edgesTouching(ALL_POINTS));
+		verify(edgeManager, times(2)).findAllCompactEdges();
+		restarted.close();
+	}
+
+	@Test
+	void checkpointFoldsLogIntoSnapshot() throws IOException {
+		Path file = directory.resolve("edges.csr");
+		database.set(_edges(1, 2, 2, 3));
+		EdgeSnapshotStore store = _loadedStore(1);
+		store.record(List.of(new Edge(3L, 4L)), true).block(TIMEOUT);
+
+		_await(() -> _snapshotContains(file, 3, 4) && _logSequences().allMatch(sequence -> sequence >= _logSequence(file)));
+		store.close();
+
+		database.set(_edges(1, 2, 2, 3, 3, 4));
+		EdgeSnapshotStore restarted = _loadedStore(1_000);
+		_assertSameEdges(database.get(), restarted.edgesTouching(ALL_POINTS));
+		verify(edgeManager, times(1)).findAllCompactEdges();
+		restarted.close();
+	}
+
+	private EdgeSnapshotStore _loadedStore(int compactThreshold) throws IOException {
+		EdgeSnapshotStore store = new EdgeSnapshotStore(edgeManagerProvider, directory.resolve("edges.csr").toString(), compactThreshold, 600);
+		store.load();
+		_await(store::isLoaded);
+		return store;
+	}
+
+	private static boolean _snapshotContains(Path file, long origin, long destination) {
+		try {
+			return EdgeSnapshot.open(file).contains(origin, destination);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static long _logSequence(Path file) {
+		try {
+			return EdgeSnapshot.open(file).logSequence();
+		} catch (IOException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private Stream<Long> _logSequences() {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+				.map(path -> path.getFileName().toString())
+				.filter(name -> name.startsWith("edges.csr.wal."))
+				.map(name -> Long.parseLong(name.substring("edges.csr.wal.".length())))
+				.toList()
+				.stream();
+		} catch (IOException e) {
+			return Stream.of(Long.MIN_VALUE);
+		}
+	}
+
+	private static void _await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TIMEOUT.toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not reached within " + TIMEOUT);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	private static CompactEdges _edges(long... pairs) {
+		return CompactEdges.of(
+			LongStream.range(0, pairs.length / 2).map(i -> pairs[(int) (2 * i)]).toArray(),
+			LongStream.range(0, pairs.length / 2).map(i -> pairs[(int) (2 * i + 1)]).toArray());
+	}
+
+	private static void _assertSameEdges(CompactEdges expected, CompactEdges actual) {
+		assertArrayEquals(
+			LongStream.range(0, expected.size()).flatMap(i -> LongStream.of(expected.origin((int) i), expected.destination((int) i))).toArray(),
+			LongStream.range(0, actual.size()).flatMap(i -> LongStream.of(actual.origin((int) i), actual.destination((int) i))).toArray());
+	}
+}
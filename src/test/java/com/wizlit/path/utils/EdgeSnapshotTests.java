@@ -0,0 +1,94 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.wizlit.path.model.CompactEdges;
+
+/**
+ * The memory-mapped CSR file against a plain filter over the same edges.
+ */
+class EdgeSnapshotTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void edgesTouchingMatchesFilter() throws IOException {
+		CompactEdges edges = _randomEdges(500, 2_000, 7);
+		EdgeSnapshot snapshot = EdgeSnapshot.write(directory.resolve("edges.csr"), edges, 1);
+		assertEquals(edges.size(), snapshot.edgeCount());
+
+		Random random = new Random(11);
+		for (int round = 0; round < 50; round++) {
+			long[] pointIds = random.longs(1 + random.nextInt(40), 1, 520).sorted().distinct().toArray();
+			_assertSameEdges(_filter(edges, pointIds), snapshot.edgesTouching(pointIds));
+		}
+		_assertSameEdges(edges, snapshot.allEdges());
+	}
+
+	@Test
+	void reopenedSnapshotHasSameEdges() throws IOException {
+		Path file = directory.resolve("edges.csr");
+		CompactEdges edges = _randomEdges(100, 300, 3);
+		EdgeSnapshot.write(file, edges, 7);
+
+		EdgeSnapshot reopened = EdgeSnapshot.open(file);
+		_assertSameEdges(edges, reopened.allEdges());
+		_assertSameEdges(CompactEdges.empty(), reopened.edgesTouching(new long[] { 1_000 }));
+	}
+
+	@Test
+	void emptyAndForeignFiles() throws IOException {
+		EdgeSnapshot empty = EdgeSnapshot.write(directory.resolve("empty.csr"), CompactEdges.empty(), 1);
+		assertEquals(0, empty.edgeCount());
+		assertEquals(0, empty.edgesTouching(new long[] { 1, 2 }).size());
+
+		Path foreign = Files.write(directory.resolve("foreign.csr"), new byte[64]);
+		assertThrows(IOException.class, () -> EdgeSnapshot.open(foreign));
+	}
+
+	private static CompactEdges _randomEdges(int points, int edgeCount, long seed) {
+		Random random = new Random(seed);
+		TreeSet<long[]> edges = new TreeSet<>((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+		while (edges.size() < edgeCount) {
+			long origin = 1 + random.nextInt(points);
+			long destination = 1 + random.nextInt(points);
+			if (origin != destination) {
+				edges.add(new long[] { origin, destination });
+			}
+		}
+		return CompactEdges.of(
+			edges.stream().mapToLong(edge -> edge[0]).toArray(),
+			edges.stream().mapToLong(edge -> edge[1]).toArray());
+	}
+
+	private static CompactEdges _filter(CompactEdges edges, long[] pointIds) {
+		int[] matching = LongStream.range(0, edges.size())
+			.mapToInt(i -> (int) i)
+			.filter(i -> Arrays.binarySearch(pointIds, edges.origin(i)) >= 0 || Arrays.binarySearch(pointIds, edges.destination(i)) >= 0)
+			.toArray();
+		return CompactEdges.of(
+			Arrays.stream(matching).mapToLong(edges::origin).toArray(),
+			Arrays.stream(matching).mapToLong(edges::destination).toArray());
+	}
+
+	private static void _assertSameEdges(CompactEdges expected, CompactEdges actual) {
+		assertEquals(expected.size(), actual.size());
+		assertArrayEquals(
+			LongStream.range(0, expected.size()).flatMap(i -> LongStream.of(expected.origin((int) i), expected.destination((int) i))).toArray(),
+			LongStream.range(0, actual.size()).flatMap(i -> LongStream.of(actual.origin((int) i), actual.destination((int) i))).toArray());
+	}
+}
@@ -0,0 +1,86 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.NeighborhoodLevel;
+import com.wizlit.path.model.TraversalDirection;
+
+/**
+ * Levels of a neighborhood walk over 1 -> 2 -> 3 -> 4, 1 -> 3 and 5 -> 2.
+ */
+class NeighborhoodWalkTests {
+
+	private static final long[][] EDGES = { { 1, 2 }, { 1, 3 }, { 2, 3 }, { 3, 4 }, { 5, 2 } };
+
+	@Test
+	void downstreamReachesEachPointAtItsShortestHop() {
+		List<NeighborhoodLevel> levels = _walk(1, TraversalDirection.DOWNSTREAM, 3);
+
+		assertArrayEquals(new long[] { 2, 3 }, levels.get(1).pointIds());
+		assertArrayEquals(new long[] { 4 }, levels.get(2).pointIds());
+		assertEquals(0, levels.get(3).pointIds().length);
+		// 2 -> 3 leads to a point of the same level and is still part of the subgraph
+		assertEquals(List.of("1>2", "1>3", "2>3", "3>4"), _edges(levels));
+	}
+
+	@Test
+	void upstreamFollowsIncomingEdges() {
+		List<NeighborhoodLevel> levels = _walk(3, TraversalDirection.UPSTREAM, 1);
+
+		assertArrayEquals(new long[] { 1, 2 }, levels.get(1).pointIds());
+		assertEquals(List.of("1>3", "2>3"), _edges(levels));
+	}
+
+	@Test
+	void bothWaysEmitsEveryEdgeOnce() {
+		List<NeighborhoodLevel> levels = _walk(2, TraversalDirection.BOTH, 2);
+
+		assertArrayEquals(new long[] { 1, 3, 5 }, levels.get(1).pointIds());
+		assertArrayEquals(new long[] { 4 }, levels.get(2).pointIds());
+		assertEquals(List.of("1>2", "2>3", "5>2", "1>3", "3>4"), _edges(levels));
+	}
+
+	private static List<NeighborhoodLevel> _walk(long start, TraversalDirection direction, int hops) {
+		NeighborhoodWalk walk = new NeighborhoodWalk(start, direction);
+		List<NeighborhoodLevel> levels = new ArrayList<>();
+		NeighborhoodLevel level = walk.start();
+		levels.add(level);
+		while (level.hop() < hops && level.pointIds().length > 0) {
+			level = walk.next(level, _touching(level.pointIds()));
+			levels.add(level);
+		}
+		return levels;
+	}
+
+	private static CompactEdges _touching(long[] pointIds) {
+		List<long[]> touching = new ArrayList<>();
+		for (long[] edge : EDGES) {
+			for (long pointId : pointIds) {
+				if (edge[0] == pointId || edge[1] == pointId) {
+					touching.add(edge);
+					break;
+				}
+			}
+		}
+		return CompactEdges.of(
+				touching.stream().mapToLong(edge -> edge[0]).toArray(),
+				touching.stream().mapToLong(edge -> edge[1]).toArray());
+	}
+
+	private static List<String> _edges(List<NeighborhoodLevel> levels) {
+		List<String> edges = new ArrayList<>();
+		for (NeighborhoodLevel level : levels) {
+			for (int i = 0; i < level.edges().size(); i++) {
+				edges.add(level.edges().origin(i) + ">" + level.edges().destination(i));
+			}
+		}
+		return edges;
+	}
+}
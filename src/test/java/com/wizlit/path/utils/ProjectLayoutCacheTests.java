@@ -0,0 +1,79 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.wizlit.path.entity.Edge;
+import com.wizlit.path.model.CompactEdges;
+import com.wizlit.path.model.GraphLayout;
+
+/**
+ * Layouts built from scratch and kept up to date by recorded edge changes.
+ */
+class ProjectLayoutCacheTests {
+
+	private static final long[] POINTS = { 1, 2, 3, 4 };
+
+	@Test
+	void layersFollowLongestIncomingPath() {
+		ProjectLayoutCache cache = new ProjectLayoutCache(8);
+		GraphLayout layout = cache.layoutOf(1L, POINTS, _edges(1, 2, 1, 3, 2, 3));
+
+		assertArrayEquals(new long[] { 1, 2, 3, 4 }, layout.order());
+		assertArrayEquals(new int[] { 0, 1, 2, 0 }, layout.layers());
+		assertArrayEquals(new long[] { 1, 4 }, layout.roots());
+		assertArrayEquals(new long[] { 3, 4 }, layout.leaves());
+		assertSame(layout, cache.layoutOf(1L, POINTS, _edges(1, 2, 1, 3, 2, 3)));
+	}
+
+	@Test
+	void insertAgainstOrderReordersIncrementally() {
+		ProjectLayoutCache cache = new ProjectLayoutCache(8);
+		cache.layoutOf(1L, POINTS, _edges(1, 2, 3, 4));
+
+		cache.record(List.of(new Edge(4L, 1L)), true).block();
+		GraphLayout layout = cache.layoutOf(1L, POINTS, _edges(1, 2, 3, 4, 4, 1));
+
+		assertArrayEquals(new long[] { 3, 4, 1, 2 }, layout.order());
+		assertArrayEquals(new int[] { 0, 1, 2, 3 }, layout.layers());
+		assertArrayEquals(new long[] { 3 }, layout.roots());
+		assertArrayEquals(new long[] { 2 }, layout.leaves());
+	}
+
+	@Test
+	void deleteLowersLayersAndDropsDetachedOutsidePoints() {
+		ProjectLayoutCache cache = new ProjectLayoutCache(8);
+		cache.layoutOf(1L, POINTS, _edges(1, 2, 2, 3, 3, 9));
+
+		cache.record(List.of(new Edge(2L, 3L), new Edge(3L, 9L)), false).block();
+		GraphLayout layout = cache.layoutOf(1L, POINTS, _edges(1, 2));
+
+		assertArrayEquals(new long[] { 1, 2, 3, 4 }, layout.order());
+		assertArrayEquals(new int[] { 0, 1, 0, 0 }, layout.layers());
+	}
+
+	@Test
+	void cycleHasNoLayout() {
+		ProjectLayoutCache cache = new ProjectLayoutCache(8);
+		cache.layoutOf(1L, POINTS, _edges(1, 2, 2, 3));
+
+		cache.record(List.of(new Edge(3L, 1L)), true).block();
+
+		assertNull(cache.layoutOf(1L, POINTS, _edges(1, 2, 2, 3, 3, 1)));
+	}
+
+	private static CompactEdges _edges(long... pairs) {
+		long[] origins = new long[pairs.length / 2];
+		long[] destinations = new long[pairs.length / 2];
+		for (int i = 0; i < origins.length; i++) {
+			origins[i] = pairs[2 * i];
+			destinations[i] = pairs[2 * i + 1];
+		}
+		return CompactEdges.of(origins, destinations);
+	}
+}
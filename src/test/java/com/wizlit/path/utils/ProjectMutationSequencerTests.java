@@ -0,0 +1,106 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mutations sharing a project never overlap, including mutations spanning several projects' lanes.
+ */
+class ProjectMutationSequencerTests {
+
+	private static final TransactionalOperator NO_TRANSACTION = new TransactionalOperator() {
+		@Override
+		public <T> Mono<T> transactional(Mono<T> mono) {
+			return mono;
+		}
+
+		@Override
+		public <T> Flux<T> transactional(Flux<T> flux) {
+			return flux;
+		}
+
+		@Override
+		public <T> Flux<T> execute(TransactionCallback<T> action) {
+			return Flux.error(new UnsupportedOperationException());
+		}
+	};
+
+	@Test
+	void spanningMutationsExcludeEveryLaneTheyHold() {
+		ProjectMutationSequencer sequencer = new ProjectMutationSequencer(NO_TRANSACTION, 4, 8);
+		AtomicIntegerArray active = new AtomicIntegerArray(4);
+		AtomicInteger overlaps = new AtomicInteger();
+		Random random = new Random(7);
+
+		List<Mono<Integer>> submitted = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			List<Long> projectIds = switch (random.nextInt(4)) {
+				case 0 -> List.of(1L);
+				case 1 -> List.of(2L);
+				case 2 -> List.of(1L, 2L);
+				default -> List.of(3L, 2L, 1L);
+			};
+			int value = i;
+			submitted.add(sequencer.submit(projectIds, () -> _exclusive(projectIds, active, overlaps, value)));
+		}
+
+		List<Integer> results = Flux.merge(submitted).collectList().block(Duration.ofSeconds(30));
+		assertEquals(300, results.size());
+		assertEquals(0, overlaps.get());
+	}
+
+	@Test
+	void mutationsOfOneProjectRunInSubmissionOrder() {
+		ProjectMutationSequencer sequencer = new ProjectMutationSequencer(NO_TRANSACTION, 4, 8);
+		List<Integer> applied = new ArrayList<>();
+
+		List<Mono<Integer>> submitted = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			int value = i;
+			submitted.add(i % 7 == 0
+				? sequencer.submit(List.of(2L, 1L), () -> _append(applied, value))
+				: sequencer.submit(1L, () -> _append(applied, value)));
+		}
+
+		Flux.merge(submitted).blockLast(Duration.ofSeconds(30));
+		for (int i = 0; i < 50; i++) {
+			assertEquals(i, applied.get(i));
+		}
+	}
+
+	private static Mono<Integer> _exclusive(List<Long> projectIds, AtomicIntegerArray active, AtomicInteger overlaps, int value) {
+		return Mono.fromRunnable(() -> {
+				for (Long projectId : projectIds) {
+					if (active.getAndIncrement(projectId.intValue()) != 0) {
+						overlaps.incrementAndGet();
+					}
+				}
+			})
+			.then(Mono.delay(Duration.ofMillis(1)))
+			.doOnNext(tick -> projectIds.forEach(projectId -> active.decrementAndGet(projectId.intValue())))
+			.thenReturn(value);
+	}
+
+	private static Mono<Integer> _append(List<Integer> applied, int value) {
+		return Mono.fromSupplier(() -> {
+				synchronized (applied) {
+					applied.add(value);
+				}
+				return value;
+			})
+			.delayElement(Duration.ofMillis(1));
+	}
+}
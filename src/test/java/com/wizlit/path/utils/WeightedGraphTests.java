@@ -0,0 +1,89 @@
+package com.wizlit.path.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.wizlit.path.model.GraphPath;
+import com.wizlit.path.model.PathMetric;
+import com.wizlit.path.model.WeightedEdges;
+
+/**
+ * Shortest and cheapest routes over weighted adjacency.
+ */
+class WeightedGraphTests {
+
+	// 1 -> 2 -> 4 costs 10 + 10, 1 -> 3 -> 5 -> 4 costs 1 + 1 + 1
+	private static final WeightedGraph GRAPH = WeightedGraph.of(_edges(
+			1, 2, 10,
+			1, 3, 1,
+			2, 4, 10,
+			3, 5, 1,
+			5, 4, 1));
+
+	@Test
+	void shortestMinimizesEdgesAndReportsTheirCost() {
+		GraphPath path = GRAPH.shortestPath(1, 4, PathMetric.SHORTEST);
+
+		assertArrayEquals(new long[] { 1, 2, 4 }, path.route());
+		assertEquals(2, path.hops());
+		assertEquals(20, path.cost());
+	}
+
+	@Test
+	void cheapestMinimizesWeights() {
+		GraphPath path = GRAPH.shortestPath(1, 4, PathMetric.CHEAPEST);
+
+		assertArrayEquals(new long[] { 1, 3, 5, 4 }, path.route());
+		assertEquals(3, path.hops());
+		assertEquals(3, path.cost());
+	}
+
+	@Test
+	void unreachableOrUnknownPointsHaveNoPath() {
+		assertNull(GRAPH.shortestPath(4, 1, PathMetric.SHORTEST));
+		assertNull(GRAPH.shortestPath(1, 9, PathMetric.CHEAPEST));
+		assertArrayEquals(new long[] { 9 }, GRAPH.shortestPath(9, 9, PathMetric.SHORTEST).route());
+	}
+
+	@Test
+	void routesStayWithinThePointSet() {
+		WeightedEdges edges = _edges(
+				1, 2, 10,
+				1, 3, 1,
+				2, 4, 10,
+				3, 5, 1,
+				5, 4, 1);
+		GraphPath path = WeightedGraph.of(edges.within(new long[] { 1, 2, 4, 5 })).shortestPath(1, 4, PathMetric.CHEAPEST);
+
+		assertArrayEquals(new long[] { 1, 2, 4 }, path.route());
+		assertEquals(20, path.cost());
+	}
+
+	@Test
+	void mergedChunksDropDuplicateEdges() {
+		WeightedEdges merged = WeightedEdges.merge(List.of(
+				WeightedEdges.of(new long[] { 1, 2 }, new long[] { 2, 3 }, new long[] { 4, 5 }),
+				WeightedEdges.of(new long[] { 1, 3 }, new long[] { 2, 4 }, new long[] { 4, 6 })));
+
+		assertEquals(3, merged.size());
+		assertEquals(3, merged.origin(2));
+		assertEquals(6, merged.weight(2));
+	}
+
+	private static WeightedEdges _edges(long... triples) {
+		long[] origins = new long[triples.length / 3];
+		long[] destinations = new long[triples.length / 3];
+		long[] weights = new long[triples.length / 3];
+		for (int i = 0; i < origins.length; i++) {
+			origins[i] = triples[3 * i];
+			destinations[i] = triples[3 * i + 1];
+			weights[i] = triples[3 * i + 2];
+		}
+		return WeightedEdges.of(origins, destinations, weights);
+	}
+}